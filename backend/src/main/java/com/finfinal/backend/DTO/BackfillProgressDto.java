@@ -0,0 +1,45 @@
+package com.finfinal.backend.DTO;
+
+public class BackfillProgressDto {
+
+    private boolean running;
+    private int assetsDone;
+    private int assetsTotal;
+    private long rowsWritten;
+    private long elapsedMs;
+    private double rowsPerSecond;
+
+    public BackfillProgressDto(boolean running, int assetsDone, int assetsTotal,
+                               long rowsWritten, long elapsedMs, double rowsPerSecond) {
+        this.running = running;
+        this.assetsDone = assetsDone;
+        this.assetsTotal = assetsTotal;
+        this.rowsWritten = rowsWritten;
+        this.elapsedMs = elapsedMs;
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getAssetsDone() {
+        return assetsDone;
+    }
+
+    public int getAssetsTotal() {
+        return assetsTotal;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+}
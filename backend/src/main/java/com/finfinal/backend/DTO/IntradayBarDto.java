@@ -0,0 +1,58 @@
+package com.finfinal.backend.DTO;
+
+import java.time.LocalDateTime;
+
+public class IntradayBarDto {
+
+    private Long assetId;
+    private LocalDateTime timestamp;    // bucket start
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private int count;
+
+    public IntradayBarDto(Long assetId, LocalDateTime timestamp,
+                          double open, double high, double low, double close, int count) {
+        this.assetId = assetId;
+        this.timestamp = timestamp;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.count = count;
+    }
+
+    public Long getAssetId() {
+        return assetId;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public double getOpen() {
+        return open;
+    }
+
+    public double getHigh() {
+        return high;
+    }
+
+    public double getLow() {
+        return low;
+    }
+
+    public double getClose() {
+        return close;
+    }
+
+    // close doubles as the price for line charts
+    public double getPrice() {
+        return close;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
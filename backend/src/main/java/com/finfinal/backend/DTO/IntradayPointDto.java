@@ -0,0 +1,28 @@
+package com.finfinal.backend.DTO;
+
+import java.time.LocalDateTime;
+
+public class IntradayPointDto {
+
+    private Long assetId;
+    private double price;
+    private LocalDateTime timestamp;
+
+    public IntradayPointDto(Long assetId, double price, LocalDateTime timestamp) {
+        this.assetId = assetId;
+        this.price = price;
+        this.timestamp = timestamp;
+    }
+
+    public Long getAssetId() {
+        return assetId;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,120 @@
+package com.finfinal.backend.DTO;
+
+import java.time.LocalDate;
+
+// Value-at-Risk and Expected Shortfall as positive losses in portfolio currency
+public class MarketRiskDto {
+
+    private LocalDate asOf;
+    private double confidence;
+    private int observations;
+    private double portfolioValue;
+
+    // historical simulation: today's positions replayed over past daily returns
+    private double historicalVar1d;
+    private double historicalEs1d;
+    private double historicalVar10d;
+    private double historicalEs10d;
+
+    // normal P&L with the historical mean and standard deviation
+    private double parametricVar1d;
+    private double parametricEs1d;
+    private double parametricVar10d;
+    private double parametricEs10d;
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    public void setConfidence(double confidence) {
+        this.confidence = confidence;
+    }
+
+    public int getObservations() {
+        return observations;
+    }
+
+    public void setObservations(int observations) {
+        this.observations = observations;
+    }
+
+    public double getPortfolioValue() {
+        return portfolioValue;
+    }
+
+    public void setPortfolioValue(double portfolioValue) {
+        this.portfolioValue = portfolioValue;
+    }
+
+    public double getHistoricalVar1d() {
+        return historicalVar1d;
+    }
+
+    public void setHistoricalVar1d(double historicalVar1d) {
+        this.historicalVar1d = historicalVar1d;
+    }
+
+    public double getHistoricalEs1d() {
+        return historicalEs1d;
+    }
+
+    public void setHistoricalEs1d(double historicalEs1d) {
+        this.historicalEs1d = historicalEs1d;
+    }
+
+    public double getHistoricalVar10d() {
+        return historicalVar10d;
+    }
+
+    public void setHistoricalVar10d(double historicalVar10d) {
+        this.historicalVar10d = historicalVar10d;
+    }
+
+    public double getHistoricalEs10d() {
+        return historicalEs10d;
+    }
+
+    public void setHistoricalEs10d(double historicalEs10d) {
+        this.historicalEs10d = historicalEs10d;
+    }
+
+    public double getParametricVar1d() {
+        return parametricVar1d;
+    }
+
+    public void setParametricVar1d(double parametricVar1d) {
+        this.parametricVar1d = parametricVar1d;
+    }
+
+    public double getParametricEs1d() {
+        return parametricEs1d;
+    }
+
+    public void setParametricEs1d(double parametricEs1d) {
+        this.parametricEs1d = parametricEs1d;
+    }
+
+    public double getParametricVar10d() {
+        return parametricVar10d;
+    }
+
+    public void setParametricVar10d(double parametricVar10d) {
+        this.parametricVar10d = parametricVar10d;
+    }
+
+    public double getParametricEs10d() {
+        return parametricEs10d;
+    }
+
+    public void setParametricEs10d(double parametricEs10d) {
+        this.parametricEs10d = parametricEs10d;
+    }
+}
@@ -3,17 +3,30 @@ package com.finfinal.backend.DTO;
 
 public class PortfolioProjectionDto {
 
-    private int years;
+    private double years;
     private double currentValue;
-    private double projectedValue;
+    private double projectedValue;   // median path
 
-    public PortfolioProjectionDto(int years, double currentValue, double projectedValue) {
+    // Monte Carlo bands
+    private double p5;
+    private double p50;
+    private double p95;
+    private double mean;
+    private long paths;
+
+    public PortfolioProjectionDto(double years, double currentValue, double p5, double p50, double p95,
+                                  double mean, long paths) {
         this.years = years;
         this.currentValue = currentValue;
-        this.projectedValue = projectedValue;
+        this.projectedValue = p50;
+        this.p5 = p5;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.mean = mean;
+        this.paths = paths;
     }
 
-    public int getYears() {
+    public double getYears() {
         return years;
     }
 
@@ -24,4 +37,24 @@ public class PortfolioProjectionDto {
     public double getProjectedValue() {
         return projectedValue;
     }
+
+    public double getP5() {
+        return p5;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public long getPaths() {
+        return paths;
+    }
 }
@@ -0,0 +1,89 @@
+package com.finfinal.backend.DTO;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One tick received from market-sim, held as parallel primitive arrays.
+ * seq is the simulator's tick sequence, -1 when the source did not send one.
+ */
+public class PriceFrame {
+
+    // market-sim's application/x-price-frame layout, see PriceFrameMessageConverter there
+    public static final String MEDIA_TYPE = "application/x-price-frame";
+    private static final int MAGIC = 0x50584631;
+
+    private final long seq;
+    private final long timestamp;
+    private final long[] ids;
+    private final double[] prices;
+
+    public PriceFrame(long seq, long timestamp, long[] ids, double[] prices) {
+        this.seq = seq;
+        this.timestamp = timestamp;
+        this.ids = ids;
+        this.prices = prices;
+    }
+
+    public static PriceFrame of(long seq, long timestamp, List<SimulatedPriceDto> dtos) {
+        int count = 0;
+        long[] ids = new long[dtos.size()];
+        double[] prices = new double[dtos.size()];
+
+        for (SimulatedPriceDto dto : dtos) {
+            if (dto.getId() == null) continue;
+            ids[count] = dto.getId();
+            prices[count] = dto.getPrice();
+            count++;
+        }
+
+        if (count < ids.length) {
+            ids = Arrays.copyOf(ids, count);
+            prices = Arrays.copyOf(prices, count);
+        }
+        return new PriceFrame(seq, timestamp, ids, prices);
+    }
+
+    /**
+     * Decodes a binary frame: int magic | int count | long seq | long timestamp,
+     * then count x (long id, double price). Reads the records straight into the arrays.
+     */
+    public static PriceFrame decode(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a price frame");
+        }
+
+        int count = buffer.getInt();
+        long seq = buffer.getLong();
+        long timestamp = buffer.getLong();
+
+        long[] ids = new long[count];
+        double[] prices = new double[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = buffer.getLong();
+            prices[i] = buffer.getDouble();
+        }
+        return new PriceFrame(seq, timestamp, ids, prices);
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long getId(int index) {
+        return ids[index];
+    }
+
+    public double getPrice(int index) {
+        return prices[index];
+    }
+}
@@ -14,6 +14,9 @@ public class RiskAssessmentDto {
     private List<String> insights;
     private String summary;
 
+    // VaR / ES from actual price history
+    private MarketRiskDto marketRisk;
+
     public double getRiskScore() {
         return riskScore;
     }
@@ -61,4 +64,12 @@ public class RiskAssessmentDto {
     public void setSummary(String summary) {
         this.summary = summary;
     }
+
+    public MarketRiskDto getMarketRisk() {
+        return marketRisk;
+    }
+
+    public void setMarketRisk(MarketRiskDto marketRisk) {
+        this.marketRisk = marketRisk;
+    }
 }
@@ -0,0 +1,35 @@
+package com.finfinal.backend.DTO;
+
+import java.util.List;
+
+// JSON payload of a "tick" event on market-sim's /simulate/stream
+public class TickFrameDto {
+
+    private long seq;
+    private long timestamp;
+    private List<SimulatedPriceDto> prices;
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public List<SimulatedPriceDto> getPrices() {
+        return prices;
+    }
+
+    public void setPrices(List<SimulatedPriceDto> prices) {
+        this.prices = prices;
+    }
+}
@@ -19,9 +19,15 @@ public class IntradayPriceScheduler {
         service.captureSnapshot();
     }
 
-    // Midnight purge
-    @Scheduled(cron = "0 0 0 * * *")
-    public void purgeOldIntradayData() {
-        service.purgeOldData();
+    // Compress finished buckets into chunks
+    @Scheduled(fixedRate = 300000)
+    public void compactIntradayChunks() {
+        service.compactChunks();
+    }
+
+    // Whole days past the archive window move from intraday_chunks to files
+    @Scheduled(cron = "0 15 0 * * *")
+    public void archiveIntradayDays() {
+        service.archiveOldDays();
     }
 }
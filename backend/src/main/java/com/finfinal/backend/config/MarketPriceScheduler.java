@@ -2,6 +2,9 @@ package com.finfinal.backend.config;
 
 
 import com.finfinal.backend.service.MarketPriceSyncService;
+import com.finfinal.backend.service.MarketSimClient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -9,13 +12,27 @@ import org.springframework.stereotype.Component;
 public class MarketPriceScheduler {
 
     private final MarketPriceSyncService marketPriceSyncService;
+    private final MarketSimClient marketSimClient;
 
-    public MarketPriceScheduler(MarketPriceSyncService marketPriceSyncService) {
+    public MarketPriceScheduler(MarketPriceSyncService marketPriceSyncService,
+                                MarketSimClient marketSimClient) {
         this.marketPriceSyncService = marketPriceSyncService;
+        this.marketSimClient = marketSimClient;
+    }
+
+    // In stream mode ticks are pushed by market-sim instead of polled
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMarketStream() {
+        if (!marketSimClient.isStreaming()) return;
+
+        System.out.println("STREAMING MARKET PRICES...");
+        marketSimClient.stream(marketPriceSyncService::applyFrame);
     }
 
     @Scheduled(fixedRate = 5000)
     public void pullMarketPrices() {
+        if (marketSimClient.isStreaming()) return;
+
         System.out.println("SYNCING MARKET PRICES...");
         marketPriceSyncService.syncPrices();
     }
@@ -0,0 +1,99 @@
+package com.finfinal.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "retention")
+public class RetentionConfig {
+
+    // Rows deleted (or archived) per statement, each chunk commits on its own
+    private int chunkRows = 5000;
+
+    // Pause between chunks so replicas and concurrent writers keep up
+    private long pauseMillis = 50;
+
+    // Nightly run
+    private String cron = "0 0 0 * * *";
+
+    private List<Policy> tables = new ArrayList<>();
+
+    public static class Policy {
+
+        private String table;
+
+        // Rows whose time column is older than retainDays go, 0 keeps everything
+        private String timeColumn;
+        private int retainDays;
+
+        // When set, rows are copied here in the same transaction before they are deleted
+        private String archiveTable;
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public String getTimeColumn() {
+            return timeColumn;
+        }
+
+        public void setTimeColumn(String timeColumn) {
+            this.timeColumn = timeColumn;
+        }
+
+        public int getRetainDays() {
+            return retainDays;
+        }
+
+        public void setRetainDays(int retainDays) {
+            this.retainDays = retainDays;
+        }
+
+        public String getArchiveTable() {
+            return archiveTable;
+        }
+
+        public void setArchiveTable(String archiveTable) {
+            this.archiveTable = archiveTable;
+        }
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public void setChunkRows(int chunkRows) {
+        this.chunkRows = chunkRows;
+    }
+
+    public long getPauseMillis() {
+        return pauseMillis;
+    }
+
+    public void setPauseMillis(long pauseMillis) {
+        this.pauseMillis = pauseMillis;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public List<Policy> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<Policy> tables) {
+        this.tables = tables;
+    }
+}
@@ -0,0 +1,21 @@
+package com.finfinal.backend.config;
+
+import com.finfinal.backend.service.RetentionService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RetentionScheduler {
+
+    private final RetentionService service;
+
+    public RetentionScheduler(RetentionService service) {
+        this.service = service;
+    }
+
+    // Nightly by default, see retention.cron
+    @Scheduled(cron = "${retention.cron:0 0 0 * * *}")
+    public void purgeExpiredRows() {
+        service.runAll();
+    }
+}
@@ -1,9 +1,15 @@
 package com.finfinal.backend.controller;
 
-import com.finfinal.backend.model.IntradayPrice;
+import com.finfinal.backend.DTO.IntradayBarDto;
+import com.finfinal.backend.DTO.IntradayPointDto;
+import com.finfinal.backend.enums.BarResolution;
+import com.finfinal.backend.exception.BadRequestException;
 import com.finfinal.backend.service.IntradayPriceService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -13,12 +19,56 @@ public class IntradayPriceController {
 
     private final IntradayPriceService service;
 
+    // widest from/to span one request may read
+    @Value("${intraday.max-range-days:31}")
+    private int maxRangeDays;
+
     public IntradayPriceController(IntradayPriceService service) {
         this.service = service;
     }
 
+    // Last 24 hours unless ?from= / ?to= (ISO date-times) are given; ?maxPoints= caps the points for charts
     @GetMapping("/{assetId}")
-    public List<IntradayPrice> getIntradayPrices(@PathVariable Long assetId) {
-        return service.getIntradayPrices(assetId);
+    public List<IntradayPointDto> getIntradayPrices(
+            @PathVariable Long assetId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int maxPoints) {
+
+        if (maxPoints < 0) throw new BadRequestException("maxPoints must not be negative");
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        checkRange(start, end);
+        return service.getIntradayPrices(assetId, start, end, maxPoints);
+    }
+
+    // OHLC bars, ?resolution=1m|5m|15m|1h, same range defaults as the raw points
+    @GetMapping(value = "/{assetId}", params = "resolution")
+    public List<IntradayBarDto> getIntradayBars(
+            @PathVariable Long assetId,
+            @RequestParam String resolution,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        checkRange(start, end);
+        BarResolution barResolution;
+        try {
+            barResolution = BarResolution.fromLabel(resolution);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage() + ", expected one of 1m, 5m, 15m, 1h");
+        }
+        return service.getBars(assetId, barResolution, start, end);
+    }
+
+    private void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from " + from + " is after to " + to);
+        }
+        if (from.plusDays(maxRangeDays).isBefore(to)) {
+            throw new BadRequestException("Range is longer than " + maxRangeDays + " days");
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package com.finfinal.backend.controller;
 
 import com.finfinal.backend.DTO.LivePriceDto;
+import com.finfinal.backend.service.LivePriceBoard;
 import com.finfinal.backend.service.LivePriceService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,10 +22,19 @@ public class LivePriceController {
 
     /**
      * Fetch latest live prices for all assets (intraday)
+     * The ETag is the board version, so pollers get a 304 until the next tick lands
      */
     @GetMapping
-    public ResponseEntity<List<LivePriceDto>> getAllLivePrices() {
-        return ResponseEntity.ok(service.getAllLivePrices());
+    public ResponseEntity<List<LivePriceDto>> getAllLivePrices(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+
+        LivePriceBoard.Board board = service.getBoard();
+        String etag = "\"" + board.getVersion() + "\"";
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(board.getAll());
     }
 
     /**git
@@ -3,8 +3,10 @@ package com.finfinal.backend.controller;
 import com.finfinal.backend.DTO.PortfolioDiversificationDto;
 import com.finfinal.backend.DTO.PortfolioProjectionDto;
 import com.finfinal.backend.DTO.PortfolioSummaryDto;
-import com.finfinal.backend.service.PortfolioService;
+import com.finfinal.backend.service.PortfolioValuationEngine;
 import com.finfinal.backend.service.ProjectionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,21 +15,22 @@ import java.util.List;
 @RequestMapping("/api/portfolio")
 public class PortfolioController {
 
-    private final PortfolioService portfolioService;
+    private final PortfolioValuationEngine valuationEngine;
     private final ProjectionService projectionService;
 
-    public PortfolioController(PortfolioService portfolioService, ProjectionService projectionService) {
-        this.portfolioService = portfolioService;
-
+    public PortfolioController(PortfolioValuationEngine valuationEngine, ProjectionService projectionService) {
+        this.valuationEngine = valuationEngine;
         this.projectionService = projectionService;
     }
 
-
-
+    // Served from the latest valuation snapshot, the ETag is its version
     @GetMapping("/summary")
-    public PortfolioSummaryDto getSummary() {
-        return portfolioService.getSummary();
+    public ResponseEntity<PortfolioSummaryDto> getSummary(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        PortfolioValuationEngine.Snapshot snapshot = valuationEngine.current();
+        return conditional(snapshot, ifNoneMatch, snapshot.getSummary());
     }
+
     @GetMapping("/projection/1y")
     public PortfolioProjectionDto projection1Y() {
         return projectionService.project(1);
@@ -38,10 +41,26 @@ public class PortfolioController {
         return projectionService.project(5);
     }
 
-    @GetMapping("/diversification")
-    public List<PortfolioDiversificationDto> diversification() {
-        return portfolioService.getDiversification();
+    // Monte Carlo bands at any horizons, e.g. ?years=0.5,1,3,5&paths=20000
+    @GetMapping("/projection")
+    public List<PortfolioProjectionDto> projection(
+            @RequestParam(defaultValue = "1,5") double[] years,
+            @RequestParam(defaultValue = "${projection.paths:10000}") int paths) {
+        return projectionService.project(years, paths);
     }
 
+    @GetMapping("/diversification")
+    public ResponseEntity<List<PortfolioDiversificationDto>> diversification(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        PortfolioValuationEngine.Snapshot snapshot = valuationEngine.current();
+        return conditional(snapshot, ifNoneMatch, snapshot.getDiversification());
+    }
 
+    private <T> ResponseEntity<T> conditional(PortfolioValuationEngine.Snapshot snapshot, String ifNoneMatch, T body) {
+        String etag = "\"" + snapshot.getVersion() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
 }
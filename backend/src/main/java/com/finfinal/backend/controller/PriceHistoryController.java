@@ -1,10 +1,14 @@
 package com.finfinal.backend.controller;
 
+import com.finfinal.backend.DTO.BackfillProgressDto;
 import com.finfinal.backend.DTO.PriceHistoryDto;
+import com.finfinal.backend.exception.BadRequestException;
 import com.finfinal.backend.service.PriceHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,15 +23,32 @@ public class PriceHistoryController {
         this.service = service;
     }
 
+    // Whole history unless ?from= / ?to= (ISO dates) narrow it; ?maxPoints= caps the points for charts
     @GetMapping("/{assetId}")
-    public ResponseEntity<List<PriceHistoryDto>> getAssetHistory(@PathVariable Long assetId) {
-        List<PriceHistoryDto> history = service.getHistoryForAsset(assetId);
+    public ResponseEntity<List<PriceHistoryDto>> getAssetHistory(
+            @PathVariable Long assetId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int maxPoints) {
+        if (maxPoints < 0) throw new BadRequestException("maxPoints must not be negative");
+
+        LocalDate start = from != null ? from : PriceHistoryService.EARLIEST;
+        LocalDate end = to != null ? to : LocalDate.now();
+        if (start.isAfter(end)) throw new BadRequestException("from " + start + " is after to " + end);
+
+        List<PriceHistoryDto> history = service.getHistoryForAsset(assetId, start, end, maxPoints);
         return ResponseEntity.ok(history);
     }
 
     @PostMapping("/generate")
     public String generateHistory() {
-        service.generate365DaysHistory();
-        return "Price history generated";
+        return service.generate365DaysHistory()
+                ? "Price history generation started"
+                : "Price history generation already running";
+    }
+
+    @GetMapping("/generate/progress")
+    public BackfillProgressDto getGenerationProgress() {
+        return service.getGenerationProgress();
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.finfinal.backend.enums;
+
+public enum BarResolution {
+    M1("1m", 60),
+    M5("5m", 300),
+    M15("15m", 900),
+    H1("1h", 3600);
+
+    private final String label;
+    private final int seconds;
+
+    BarResolution(String label, int seconds) {
+        this.label = label;
+        this.seconds = seconds;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getSeconds() {
+        return seconds;
+    }
+
+    // Accepts "5m" as well as "M5"
+    public static BarResolution fromLabel(String value) {
+        for (BarResolution resolution : values()) {
+            if (resolution.label.equalsIgnoreCase(value) || resolution.name().equalsIgnoreCase(value)) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("Unknown resolution: " + value);
+    }
+}
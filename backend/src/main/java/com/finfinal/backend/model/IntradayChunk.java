@@ -0,0 +1,81 @@
+package com.finfinal.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One asset's intraday prices for one time bucket, Gorilla-compressed
+ * (see timeseries.ChunkEncoder). Replaces a bucket's worth of intraday_prices rows.
+ */
+@Entity
+@Table(name = "intraday_chunks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_intraday_chunk_asset_bucket", columnNames = {"asset_id", "bucket_start"}))
+public class IntradayChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "asset_id", nullable = false)
+    private Long assetId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "bucket_end", nullable = false)
+    private LocalDateTime bucketEnd;
+
+    private int pointCount;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAssetId() {
+        return assetId;
+    }
+
+    public void setAssetId(Long assetId) {
+        this.assetId = assetId;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public LocalDateTime getBucketEnd() {
+        return bucketEnd;
+    }
+
+    public void setBucketEnd(LocalDateTime bucketEnd) {
+        this.bucketEnd = bucketEnd;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public void setPointCount(int pointCount) {
+        this.pointCount = pointCount;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+}
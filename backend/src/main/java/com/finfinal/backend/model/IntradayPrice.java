@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "intraday_prices")
+@Table(name = "intraday_prices", indexes = {
+        @Index(name = "idx_intraday_prices_asset_ts", columnList = "asset_id, timestamp"),
+        @Index(name = "idx_intraday_prices_ts", columnList = "timestamp")
+})
 public class IntradayPrice {
 
     @Id
@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "price_history")
+@Table(name = "price_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_price_history_asset_date", columnNames = {"asset_id", "date"}))
 public class PriceHistory {
 
     @Id
@@ -2,6 +2,27 @@ package com.finfinal.backend.repository;
 
 import com.finfinal.backend.model.Asset;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface AssetRepository extends JpaRepository<Asset, Long> {
+
+    @Query("SELECT a.id FROM Asset a")
+    List<Long> findAllIds();
+
+    // One set-based statement instead of a findById/save pair per asset
+    @Modifying
+    @Query(value = "UPDATE assets a JOIN live_prices lp ON lp.asset_id = a.id " +
+            "SET a.current_price = lp.price WHERE a.current_price <> lp.price", nativeQuery = true)
+    int syncCurrentPricesFromLive();
+
+    // Yesterday's reference price is the close recorded for the day, so re-running a day changes nothing
+    @Modifying
+    @Query(value = "UPDATE assets a JOIN price_history ph ON ph.asset_id = a.id AND ph.date = :date " +
+            "SET a.last_day_price = ph.price", nativeQuery = true)
+    int rollLastDayPrices(@Param("date") LocalDate date);
 }
@@ -2,12 +2,18 @@ package com.finfinal.backend.repository;
 
 import com.finfinal.backend.model.Holding;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface HoldingRepository extends JpaRepository<Holding, Long> {
     // Find holding by the linked Asset's ID
     Optional<Holding> findByAssetId(Long assetId);
+
+    // Open holdings with their assets in one query, instead of one lazy load per holding
+    @Query("SELECT h FROM Holding h JOIN FETCH h.asset WHERE h.quantity > 0")
+    List<Holding> findOpenWithAsset();
 }
\ No newline at end of file
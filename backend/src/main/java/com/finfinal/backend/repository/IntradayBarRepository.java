@@ -0,0 +1,20 @@
+package com.finfinal.backend.repository;
+
+import com.finfinal.backend.enums.BarResolution;
+import com.finfinal.backend.model.IntradayBar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IntradayBarRepository extends JpaRepository<IntradayBar, Long> {
+
+    List<IntradayBar> findByAssetIdAndResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            Long assetId, BarResolution resolution, LocalDateTime from, LocalDateTime to);
+
+    // Start of the newest persisted bar at this resolution, served by idx_intraday_bars_resolution_start
+    @Query("SELECT MAX(b.bucketStart) FROM IntradayBar b WHERE b.resolution = :resolution")
+    LocalDateTime findLastBucketStart(@Param("resolution") BarResolution resolution);
+}
@@ -0,0 +1,25 @@
+package com.finfinal.backend.repository;
+
+import com.finfinal.backend.model.IntradayChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IntradayChunkRepository extends JpaRepository<IntradayChunk, Long> {
+
+    // Chunks overlapping [from, to)
+    @Query("SELECT c FROM IntradayChunk c WHERE c.assetId = :assetId " +
+            "AND c.bucketStart < :to AND c.bucketEnd > :from ORDER BY c.bucketStart")
+    List<IntradayChunk> findOverlapping(@Param("assetId") Long assetId,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(c.bucketStart) FROM IntradayChunk c")
+    LocalDateTime findFirstBucketStart();
+
+    @Query("SELECT MAX(c.bucketEnd) FROM IntradayChunk c")
+    LocalDateTime findLastBucketEnd();
+}
@@ -0,0 +1,174 @@
+package com.finfinal.backend.repository;
+
+import com.finfinal.backend.DTO.LivePriceDto;
+import com.finfinal.backend.model.IntradayBar;
+import com.finfinal.backend.model.IntradayChunk;
+import com.finfinal.backend.timeseries.Series;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk access to intraday_prices and intraday_chunks outside of JPA. Ids stay AUTO_INCREMENT:
+ * MySQL assigns them inside the multi-row INSERT, so unlike Hibernate's IDENTITY path nothing
+ * is fetched back per row.
+ *
+ * The whole-bucket and whole-day scans (forEachRow, forEachChunk) stream their result sets:
+ * Connector/J otherwise buffers every row before the first one is handed over. While a scan
+ * is running its connection cannot run other statements, so handlers must not query.
+ */
+@Repository
+public class IntradayPriceBatchRepository {
+
+    private static final String INSERT =
+            "INSERT INTO intraday_prices (asset_id, price, timestamp) VALUES (?, ?, ?)";
+
+    // IGNORE makes re-compacting a bucket a no-op instead of a duplicate key error
+    private static final String INSERT_CHUNK =
+            "INSERT IGNORE INTO intraday_chunks (asset_id, bucket_start, bucket_end, point_count, data) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    // a bar rebuilt after a restart replaces the one written before it
+    private static final String UPSERT_BAR =
+            "INSERT INTO intraday_bars (asset_id, resolution, bucket_start, `open`, high, low, `close`, `count`) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "`open` = VALUES(`open`), high = VALUES(high), low = VALUES(low), " +
+            "`close` = VALUES(`close`), `count` = VALUES(`count`)";
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void accept(long assetId, double price, LocalDateTime timestamp);
+    }
+
+    @FunctionalInterface
+    public interface ChunkHandler {
+        void accept(long assetId, byte[] data);
+    }
+
+    // rows per JDBC batch, each batch goes out as one rewritten statement
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IntradayPriceBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Returns the number of batches sent
+    public int insertAll(List<LivePriceDto> prices, LocalDateTime timestamp) {
+        if (prices.isEmpty()) return 0;
+
+        Timestamp ts = Timestamp.valueOf(timestamp);
+        return jdbcTemplate.batchUpdate(INSERT, prices, BATCH_SIZE, (ps, price) -> {
+            ps.setLong(1, price.getAssetId());
+            ps.setDouble(2, price.getPrice());
+            ps.setTimestamp(3, ts);
+        }).length;
+    }
+
+    public int insertChunks(List<IntradayChunk> chunks) {
+        if (chunks.isEmpty()) return 0;
+
+        return jdbcTemplate.batchUpdate(INSERT_CHUNK, chunks, BATCH_SIZE, (ps, chunk) -> {
+            ps.setLong(1, chunk.getAssetId());
+            ps.setTimestamp(2, Timestamp.valueOf(chunk.getBucketStart()));
+            ps.setTimestamp(3, Timestamp.valueOf(chunk.getBucketEnd()));
+            ps.setInt(4, chunk.getPointCount());
+            ps.setBytes(5, chunk.getData());
+        }).length;
+    }
+
+    public int upsertBars(List<IntradayBar> bars) {
+        if (bars.isEmpty()) return 0;
+
+        return jdbcTemplate.batchUpdate(UPSERT_BAR, bars, BATCH_SIZE, (ps, bar) -> {
+            ps.setLong(1, bar.getAssetId());
+            ps.setString(2, bar.getResolution().name());
+            ps.setTimestamp(3, Timestamp.valueOf(bar.getBucketStart()));
+            ps.setDouble(4, bar.getOpen());
+            ps.setDouble(5, bar.getHigh());
+            ps.setDouble(6, bar.getLow());
+            ps.setDouble(7, bar.getClose());
+            ps.setInt(8, bar.getCount());
+        }).length;
+    }
+
+    // Streams raw rows in [from, to) ordered by asset then time, without materialising entities
+    public void forEachRow(LocalDateTime from, LocalDateTime to, RowHandler handler) {
+        stream(
+                "SELECT asset_id, price, timestamp FROM intraday_prices " +
+                "WHERE timestamp >= ? AND timestamp < ? ORDER BY asset_id, timestamp",
+                rs -> {
+                    handler.accept(rs.getLong(1), rs.getDouble(2), rs.getTimestamp(3).toLocalDateTime());
+                },
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // One asset's raw rows in [from, to), appended to out as epoch seconds, served by idx_intraday_prices_asset_ts
+    public void readSeries(long assetId, LocalDateTime from, LocalDateTime to, Series out) {
+        jdbcTemplate.query(
+                "SELECT price, timestamp FROM intraday_prices " +
+                "WHERE asset_id = ? AND timestamp >= ? AND timestamp < ? ORDER BY timestamp",
+                rs -> {
+                    out.add(rs.getTimestamp(2).toLocalDateTime().toEpochSecond(ZoneOffset.UTC), rs.getDouble(1));
+                },
+                assetId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // Streams chunks starting in [from, to) ordered by asset then bucket
+    public void forEachChunk(LocalDateTime from, LocalDateTime to, ChunkHandler handler) {
+        stream(
+                "SELECT asset_id, data FROM intraday_chunks " +
+                "WHERE bucket_start >= ? AND bucket_start < ? ORDER BY asset_id, bucket_start",
+                rs -> {
+                    handler.accept(rs.getLong(1), rs.getBytes(2));
+                },
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // Deletes up to limit chunks starting in [from, to), returns how many went
+    public int deleteChunks(LocalDateTime from, LocalDateTime to, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM intraday_chunks WHERE bucket_start >= ? AND bucket_start < ? LIMIT ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+
+    // Each asset's last raw price in [from, to) into out
+    public void findLastPrices(LocalDateTime from, LocalDateTime to, Map<Long, Double> out) {
+        jdbcTemplate.query(
+                "SELECT ip.asset_id, ip.price FROM intraday_prices ip JOIN (" +
+                "SELECT asset_id, MAX(timestamp) AS ts FROM intraday_prices " +
+                "WHERE timestamp >= ? AND timestamp < ? GROUP BY asset_id) l " +
+                "ON l.asset_id = ip.asset_id AND l.ts = ip.timestamp",
+                rs -> {
+                    out.put(rs.getLong(1), rs.getDouble(2));
+                },
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public LocalDateTime findFirstTimestampFrom(LocalDateTime from) {
+        Timestamp first = jdbcTemplate.queryForObject(
+                "SELECT MIN(timestamp) FROM intraday_prices WHERE timestamp >= ?",
+                Timestamp.class, Timestamp.valueOf(from));
+        return first == null ? null : first.toLocalDateTime();
+    }
+
+    // Row-by-row result set: forward-only, read-only and Integer.MIN_VALUE fetch size is Connector/J's streaming mode
+    private void stream(String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }, handler);
+    }
+}
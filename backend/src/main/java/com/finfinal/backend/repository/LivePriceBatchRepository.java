@@ -0,0 +1,48 @@
+package com.finfinal.backend.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Bulk writes to live_prices outside of JPA. One JDBC batch per call, which the MySQL
+ * driver sends as a multi-row INSERT when rewriteBatchedStatements is on.
+ */
+@Repository
+public class LivePriceBatchRepository {
+
+    private static final String UPSERT =
+            "INSERT INTO live_prices (asset_id, price, updated_at) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE price = VALUES(price), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LivePriceBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Upserts the first count entries of ids/prices
+    public void upsert(long[] ids, double[] prices, int count, LocalDateTime updatedAt) {
+        if (count == 0) return;
+
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        jdbcTemplate.batchUpdate(UPSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids[i]);
+                ps.setDouble(2, prices[i]);
+                ps.setTimestamp(3, timestamp);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package com.finfinal.backend.repository;
+
+import com.finfinal.backend.timeseries.Series;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Column-level access to price_history outside of JPA, for reads that only need
+ * (date, price) and would otherwise load an entity plus its Asset per row.
+ */
+@Repository
+public class PriceHistoryBatchRepository {
+
+    // (asset_id, date) is unique, so re-running a day replaces its prices instead of duplicating them
+    private static final String UPSERT =
+            "INSERT INTO price_history (asset_id, date, price) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE price = VALUES(price)";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceHistoryBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private static final String UNIQUE_DAY_INDEX = "uk_price_history_asset_date";
+
+    // ddl-auto only adds the constraint to a table without duplicates, so it can be missing
+    public boolean hasUniqueDayIndex() {
+        Integer columns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'price_history' " +
+                "AND index_name = ? AND non_unique = 0",
+                Integer.class, UNIQUE_DAY_INDEX);
+        return columns != null && columns == 2;
+    }
+
+    // Keeps the newest row (highest id) of every (asset_id, date) that has more than one
+    public int deleteDuplicateDays() {
+        return jdbcTemplate.update(
+                "DELETE ph FROM price_history ph JOIN (" +
+                "SELECT asset_id, date, MAX(id) AS keep_id FROM price_history " +
+                "GROUP BY asset_id, date HAVING COUNT(*) > 1) d " +
+                "ON d.asset_id = ph.asset_id AND d.date = ph.date AND ph.id <> d.keep_id");
+    }
+
+    public void createUniqueDayIndex() {
+        jdbcTemplate.execute("ALTER TABLE price_history ADD CONSTRAINT " + UNIQUE_DAY_INDEX + " UNIQUE (asset_id, date)");
+    }
+
+    // One asset's prices in [from, to], appended to out as epoch days, served by uk_price_history_asset_date
+    public void readSeries(long assetId, LocalDate from, LocalDate to, Series out) {
+        jdbcTemplate.query(
+                "SELECT date, price FROM price_history " +
+                "WHERE asset_id = ? AND date >= ? AND date <= ? ORDER BY date",
+                rs -> {
+                    out.add(rs.getDate(1).toLocalDate().toEpochDay(), rs.getDouble(2));
+                },
+                assetId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Writes count assets' daily series in one JDBC batch, which the driver rewrites into
+     * multi-row INSERTs. prices[a][d] is asset a's price on firstDay + d.
+     */
+    public int insertSeries(long[] assetIds, double[][] prices, int count, LocalDate firstDay) {
+        if (count == 0) return 0;
+
+        int days = prices[0].length;
+        Date[] dates = new Date[days];
+        for (int d = 0; d < days; d++) {
+            dates[d] = Date.valueOf(firstDay.plusDays(d));
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int a = i / days;
+                int d = i % days;
+                ps.setLong(1, assetIds[a]);
+                ps.setDate(2, dates[d]);
+                ps.setDouble(3, prices[a][d]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count * days;
+            }
+        });
+        return count * days;
+    }
+
+    // One day's closes for count assets, in batches
+    public int upsertDay(long[] assetIds, double[] prices, int count, LocalDate date) {
+        if (count == 0) return 0;
+
+        Date day = Date.valueOf(date);
+        int written = 0;
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            int start = from;
+            int size = Math.min(BATCH_SIZE, count - from);
+            jdbcTemplate.batchUpdate(UPSERT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, assetIds[start + i]);
+                    ps.setDate(2, day);
+                    ps.setDouble(3, prices[start + i]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+            written += size;
+        }
+        return written;
+    }
+
+    // Dates in [from, to] that have at least one row
+    public Set<LocalDate> findDates(LocalDate from, LocalDate to) {
+        Set<LocalDate> dates = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT DISTINCT date FROM price_history WHERE date >= ? AND date <= ?",
+                rs -> {
+                    dates.add(rs.getDate(1).toLocalDate());
+                },
+                Date.valueOf(from), Date.valueOf(to));
+        return dates;
+    }
+
+    // Each asset's latest price strictly before date into out
+    public void findLastPricesBefore(LocalDate date, Map<Long, Double> out) {
+        jdbcTemplate.query(
+                "SELECT ph.asset_id, ph.price FROM price_history ph JOIN (" +
+                "SELECT asset_id, MAX(date) AS d FROM price_history WHERE date < ? GROUP BY asset_id) l " +
+                "ON l.asset_id = ph.asset_id AND l.d = ph.date",
+                rs -> {
+                    out.put(rs.getLong(1), rs.getDouble(2));
+                },
+                Date.valueOf(date));
+    }
+
+    @FunctionalInterface
+    public interface CloseHandler {
+        void accept(long assetId, long epochDay, double price);
+    }
+
+    // Every asset's last perAsset closes, ordered by asset then date, ranked on uk_price_history_asset_date
+    public void forEachRecentClose(int perAsset, CloseHandler handler) {
+        jdbcTemplate.query(
+                "SELECT asset_id, date, price FROM (" +
+                "SELECT asset_id, date, price, " +
+                "ROW_NUMBER() OVER (PARTITION BY asset_id ORDER BY date DESC) AS rn " +
+                "FROM price_history) ranked " +
+                "WHERE rn <= ? ORDER BY asset_id, date",
+                rs -> {
+                    handler.accept(rs.getLong(1), rs.getDate(2).toLocalDate().toEpochDay(), rs.getDouble(3));
+                },
+                perAsset);
+    }
+}
@@ -0,0 +1,58 @@
+package com.finfinal.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Set-based chunk deletes for the retention engine. Table and column names come from
+ * configuration and are checked against a plain identifier pattern before use.
+ *
+ * A chunk is an id range: the upper id is found with a lock-free read, then the DELETE
+ * only touches primary-key rows up to it, so every statement locks a bounded range.
+ */
+@Repository
+public class RetentionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RetentionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Largest id of the next chunkRows expired rows after afterId, null when nothing is left
+    public Long findChunkEnd(String table, String timeColumn, LocalDateTime cutoff, long afterId, int chunkRows) {
+        return jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM (SELECT id FROM " + quote(table) +
+                " WHERE id > ? AND " + quote(timeColumn) + " < ? ORDER BY id LIMIT ?) c",
+                Long.class, afterId, Timestamp.valueOf(cutoff), chunkRows);
+    }
+
+    public int deleteChunk(String table, String timeColumn, LocalDateTime cutoff, long afterId, long lastId) {
+        return jdbcTemplate.update(
+                "DELETE FROM " + quote(table) + " WHERE id > ? AND id <= ? AND " + quote(timeColumn) + " < ?",
+                afterId, lastId, Timestamp.valueOf(cutoff));
+    }
+
+    public int copyChunk(String table, String archiveTable, String timeColumn, LocalDateTime cutoff,
+                         long afterId, long lastId) {
+        return jdbcTemplate.update(
+                "INSERT IGNORE INTO " + quote(archiveTable) + " SELECT * FROM " + quote(table) +
+                " WHERE id > ? AND id <= ? AND " + quote(timeColumn) + " < ?",
+                afterId, lastId, Timestamp.valueOf(cutoff));
+    }
+
+    // Same columns and keys as the source table, without its foreign keys
+    public void createArchiveTable(String table, String archiveTable) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + quote(archiveTable) + " LIKE " + quote(table));
+    }
+
+    private static String quote(String identifier) {
+        if (identifier == null || !identifier.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Not a plain identifier: " + identifier);
+        }
+        return "`" + identifier + "`";
+    }
+}
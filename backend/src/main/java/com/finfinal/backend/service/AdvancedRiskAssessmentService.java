@@ -1,5 +1,6 @@
 package com.finfinal.backend.service;
 
+import com.finfinal.backend.DTO.MarketRiskDto;
 import com.finfinal.backend.DTO.RiskAssessmentDto;
 import com.finfinal.backend.enums.AssetCategory;
 import com.finfinal.backend.model.Asset;
@@ -12,9 +13,12 @@ import java.util.*;
 public class AdvancedRiskAssessmentService {
 
     private final AssetRepository assetRepository;
+    private final MarketRiskEngine marketRiskEngine;
 
-    public AdvancedRiskAssessmentService(AssetRepository assetRepository) {
+    public AdvancedRiskAssessmentService(AssetRepository assetRepository,
+                                         MarketRiskEngine marketRiskEngine) {
         this.assetRepository = assetRepository;
+        this.marketRiskEngine = marketRiskEngine;
     }
 
     public RiskAssessmentDto assess() {
@@ -91,6 +95,15 @@ public class AdvancedRiskAssessmentService {
             dimensionScores.put("diversificationRisk", 0.25);
         }
 
+        // F. Observed market risk (informational, not part of the score)
+        MarketRiskDto marketRisk = marketRiskEngine.current();
+        if (marketRisk.getObservations() >= 2 && marketRisk.getPortfolioValue() > 0) {
+            insights.add("On " + round(marketRisk.getConfidence() * 100) + "% of past days the portfolio would have lost less than "
+                    + round(marketRisk.getHistoricalVar1d() / marketRisk.getPortfolioValue() * 100)
+                    + "% in a day; the average loss on the remaining days is "
+                    + round(marketRisk.getHistoricalEs1d() / marketRisk.getPortfolioValue() * 100) + "%.");
+        }
+
         RiskAssessmentDto dto = new RiskAssessmentDto();
         dto.setRiskScore(round(score));
         dto.setRiskLabel(label(score));
@@ -98,6 +111,7 @@ public class AdvancedRiskAssessmentService {
         dto.setDimensionScores(dimensionScores);
         dto.setInsights(insights);
         dto.setSummary(generateSummary(score, growthExposure, defensive));
+        dto.setMarketRisk(marketRisk);
 
         return dto;
     }
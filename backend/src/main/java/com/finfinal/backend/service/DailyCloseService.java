@@ -0,0 +1,198 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.DTO.LivePriceDto;
+import com.finfinal.backend.repository.AssetRepository;
+import com.finfinal.backend.repository.IntradayPriceBatchRepository;
+import com.finfinal.backend.repository.PriceHistoryBatchRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the daily price_history row for every asset. A day's row is the price at the
+ * midnight that starts it, as the snapshot job has always recorded it.
+ *
+ * Every write is an upsert on (asset, date), so a day can be written any number of times.
+ * On startup, missing days in the last gap-fill-days are rebuilt from the newest price
+ * known before their midnight, looking through, oldest source first: the previous close,
+ * archived and compacted intraday data, raw intraday rows, and live prices that have not
+ * moved since.
+ */
+@Service
+public class DailyCloseService {
+
+    private final LivePriceBoard liveBoard;
+    private final PriceHistoryBatchRepository historyRepo;
+    private final AssetRepository assetRepo;
+    private final IntradayArchiveService archiveService;
+    private final IntradayChunkService chunkService;
+    private final IntradayPriceBatchRepository intradayRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final PortfolioValuationEngine valuationEngine;
+    private final ReturnStatsIndex returnStats;
+    private final MarketRiskEngine riskEngine;
+
+    @Value("${history.gap-fill-days:30}")
+    private int gapFillDays;
+
+    public DailyCloseService(LivePriceBoard liveBoard,
+                             PriceHistoryBatchRepository historyRepo,
+                             AssetRepository assetRepo,
+                             IntradayArchiveService archiveService,
+                             IntradayChunkService chunkService,
+                             IntradayPriceBatchRepository intradayRepo,
+                             TransactionTemplate transactionTemplate,
+                             PortfolioValuationEngine valuationEngine,
+                             ReturnStatsIndex returnStats,
+                             MarketRiskEngine riskEngine) {
+        this.liveBoard = liveBoard;
+        this.historyRepo = historyRepo;
+        this.assetRepo = assetRepo;
+        this.archiveService = archiveService;
+        this.chunkService = chunkService;
+        this.intradayRepo = intradayRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.valuationEngine = valuationEngine;
+        this.returnStats = returnStats;
+        this.riskEngine = riskEngine;
+    }
+
+    /**
+     * Every write here relies on (asset_id, date) being unique. A table that already held
+     * duplicates when the constraint was introduced never got it, and the upserts then append
+     * instead of replacing. Such duplicates are removed, keeping the newest row of each day,
+     * and the constraint is added; startup fails if it still is not there.
+     */
+    @PostConstruct
+    public void ensureUniqueDays() {
+        if (historyRepo.hasUniqueDayIndex()) return;
+
+        long start = System.nanoTime();
+        int removed = historyRepo.deleteDuplicateDays();
+        historyRepo.createUniqueDayIndex();
+        if (!historyRepo.hasUniqueDayIndex()) {
+            throw new IllegalStateException("price_history has no unique (asset_id, date) index");
+        }
+
+        System.out.println("PRICE HISTORY: removed " + removed + " duplicate day rows and added the unique index in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    // The midnight close: today's row is the live price right now
+    public synchronized void closeDay(LocalDate date) {
+        long start = System.nanoTime();
+        List<LivePriceDto> live = liveBoard.current().getAll();
+
+        long[] ids = new long[live.size()];
+        double[] prices = new double[live.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = live.get(i).getAssetId();
+            prices[i] = live.get(i).getPrice();
+        }
+
+        int count = keepKnownAssets(ids, prices, ids.length);
+        int written = historyRepo.upsertDay(ids, prices, count, date);
+        returnStats.onDayClosed(ids, prices, count, date);
+        riskEngine.onDayClosed(ids, prices, count, date);
+        int rolled = roll(date);
+
+        System.out.println("DAILY CLOSE: " + date + " - " + written + " rows, " + rolled + " assets rolled in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void healGaps() {
+        LocalDate today = LocalDate.now();
+        Set<LocalDate> present = historyRepo.findDates(today.minusDays(gapFillDays), today);
+
+        // nothing to continue from, the history generator seeds an empty table
+        LocalDate first = present.stream().min(LocalDate::compareTo).orElse(null);
+        if (first == null) return;
+
+        for (LocalDate day = first.plusDays(1); !day.isAfter(today); day = day.plusDays(1)) {
+            if (!present.contains(day)) fillDay(day, today);
+        }
+    }
+
+    private void fillDay(LocalDate day, LocalDate today) {
+        long start = System.nanoTime();
+        LocalDateTime midnight = day.atStartOfDay();
+        LocalDateTime dayBefore = midnight.minusDays(1);
+
+        Map<Long, Double> closes = new HashMap<>();
+        historyRepo.findLastPricesBefore(day, closes);
+        int carried = closes.size();
+
+        archiveService.lastPrices(dayBefore, midnight, closes);
+        chunkService.lastPrices(dayBefore, midnight, closes);
+        intradayRepo.findLastPrices(dayBefore, midnight, closes);
+
+        // a live price last updated before midnight was still the price at midnight
+        for (LivePriceDto live : liveBoard.current().getAll()) {
+            if (live.getUpdatedAt() != null && live.getUpdatedAt().isBefore(midnight)) {
+                closes.put(live.getAssetId(), live.getPrice());
+            }
+        }
+
+        long[] ids = new long[closes.size()];
+        double[] prices = new double[closes.size()];
+        int n = 0;
+        for (Map.Entry<Long, Double> close : closes.entrySet()) {
+            ids[n] = close.getKey();
+            prices[n] = close.getValue();
+            n++;
+        }
+
+        n = keepKnownAssets(ids, prices, n);
+        int written = historyRepo.upsertDay(ids, prices, n, day);
+        returnStats.onDayClosed(ids, prices, n, day);
+        riskEngine.onDayClosed(ids, prices, n, day);
+        if (day.equals(today)) roll(day);
+
+        System.out.println("DAILY CLOSE BACKFILLED: " + day + " - " + written + " rows (" + carried
+                + " assets had a previous close) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Live prices and intraday rows can outlive a deleted asset, and a price_history row for it
+     * would fail the foreign key and take the whole batch with it. Packs the entries whose asset
+     * still exists to the front of ids and prices and returns how many there are.
+     */
+    private int keepKnownAssets(long[] ids, double[] prices, int count) {
+        Set<Long> known = new HashSet<>(assetRepo.findAllIds());
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (!known.contains(ids[i])) continue;
+            ids[kept] = ids[i];
+            prices[kept] = prices[i];
+            kept++;
+        }
+        if (kept < count) {
+            System.out.println("DAILY CLOSE: skipped " + (count - kept) + " prices of assets that no longer exist");
+        }
+        return kept;
+    }
+
+    // last_day_price from the day's row, current_price from live, both set-based;
+    // the valuation picks up the new reference prices
+    private int roll(LocalDate date) {
+        Integer rolled = transactionTemplate.execute(status -> {
+            int updated = assetRepo.rollLastDayPrices(date);
+            assetRepo.syncCurrentPricesFromLive();
+            return updated;
+        });
+        valuationEngine.rebuild();
+        return rolled == null ? 0 : rolled;
+    }
+}
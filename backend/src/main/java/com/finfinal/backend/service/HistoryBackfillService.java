@@ -0,0 +1,181 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.DTO.BackfillProgressDto;
+import com.finfinal.backend.enums.AssetCategory;
+import com.finfinal.backend.model.Asset;
+import com.finfinal.backend.repository.AssetRepository;
+import com.finfinal.backend.repository.PriceHistoryBatchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates synthetic daily history for every asset in parallel.
+ *
+ * Assets are cut into blocks; each block is one task that fills a primitive price matrix
+ * with its own SplittableRandom (split from the run's root, so no generator is shared
+ * between threads) and writes it with one batched multi-row INSERT. The pool is kept
+ * below the connection pool size so live ingestion still gets connections.
+ */
+@Service
+public class HistoryBackfillService {
+
+    // assets per task, 32 x 365 rows per batch
+    private static final int BLOCK = 32;
+
+    private final AssetRepository assetRepository;
+    private final PriceHistoryBatchRepository batchRepository;
+    private final ReturnStatsIndex returnStats;
+    private final MarketRiskEngine riskEngine;
+
+    @Value("${history.backfill.threads:4}")
+    private int threads;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger assetsDone = new AtomicInteger();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile int assetsTotal;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    public HistoryBackfillService(AssetRepository assetRepository,
+                                  PriceHistoryBatchRepository batchRepository,
+                                  ReturnStatsIndex returnStats,
+                                  MarketRiskEngine riskEngine) {
+        this.assetRepository = assetRepository;
+        this.batchRepository = batchRepository;
+        this.returnStats = returnStats;
+        this.riskEngine = riskEngine;
+    }
+
+    // Starts a run in the background, false when one is already going
+    public boolean start(int days) {
+        if (!running.compareAndSet(false, true)) return false;
+
+        Thread runner = new Thread(() -> {
+            try {
+                run(days);
+            } catch (RuntimeException e) {
+                System.out.println("HISTORY BACKFILL FAILED: " + e.getMessage());
+            } finally {
+                finishedAt = System.nanoTime();
+                running.set(false);
+            }
+        }, "history-backfill");
+        runner.setDaemon(true);
+        runner.start();
+        return true;
+    }
+
+    public BackfillProgressDto getProgress() {
+        boolean active = running.get();
+        long end = active ? System.nanoTime() : finishedAt;
+        long elapsedMs = startedAt == 0 ? 0 : (end - startedAt) / 1_000_000;
+        long rows = rowsWritten.get();
+        double rate = elapsedMs == 0 ? 0 : rows * 1000.0 / elapsedMs;
+        return new BackfillProgressDto(active, assetsDone.get(), assetsTotal, rows, elapsedMs, Math.round(rate));
+    }
+
+    private void run(int days) {
+        List<Asset> assets = assetRepository.findAll();
+        int n = assets.size();
+
+        long[] ids = new long[n];
+        double[] startPrices = new double[n];
+        double[] drifts = new double[n];
+        for (int i = 0; i < n; i++) {
+            Asset asset = assets.get(i);
+            ids[i] = asset.getId();
+            startPrices[i] = asset.getLastDayPrice();
+            drifts[i] = getAnnualReturn(asset.getCategory()) / 252;
+        }
+
+        assetsTotal = n;
+        assetsDone.set(0);
+        rowsWritten.set(0);
+        startedAt = System.nanoTime();
+
+        LocalDate firstDay = LocalDate.now().minusDays(days);
+        SplittableRandom root = new SplittableRandom();
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "history-backfill-worker-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int from = 0; from < n; from += BLOCK) {
+                int start = from;
+                int end = Math.min(from + BLOCK, n);
+                SplittableRandom random = root.split();
+                tasks.add(pool.submit(() -> writeBlock(ids, startPrices, drifts, start, end, days, firstDay, random)));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during history backfill", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("History backfill worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        returnStats.reload();
+        riskEngine.rebuild();
+
+        BackfillProgressDto progress = getProgress();
+        System.out.println("HISTORY BACKFILL: " + n + " assets, " + progress.getRowsWritten() + " rows in "
+                + progress.getElapsedMs() + " ms (" + (long) progress.getRowsPerSecond() + " rows/s, "
+                + threads + " threads)");
+    }
+
+    // Same walk as before: daily drift from the category's annual return plus uniform ±1.2% noise
+    private void writeBlock(long[] ids, double[] startPrices, double[] drifts, int from, int to,
+                            int days, LocalDate firstDay, SplittableRandom random) {
+        int count = to - from;
+        long[] blockIds = new long[count];
+        double[][] prices = new double[count][days];
+
+        for (int a = 0; a < count; a++) {
+            int i = from + a;
+            blockIds[a] = ids[i];
+
+            double price = startPrices[i];
+            double[] series = prices[a];
+            for (int d = 0; d < days; d++) {
+                double noise = (random.nextDouble() * 2 - 1) * 0.012;
+                price = price * (1 + drifts[i] + noise);
+                series[d] = Math.round(price * 100.0) / 100.0;
+            }
+        }
+
+        rowsWritten.addAndGet(batchRepository.insertSeries(blockIds, prices, count, firstDay));
+        assetsDone.addAndGet(count);
+    }
+
+    private static double getAnnualReturn(AssetCategory category) {
+        return switch (category) {
+            case STOCK -> 0.12;
+            case MF_LARGE -> 0.11;
+            case MF_MID -> 0.14;
+            case MF_SMALL -> 0.18;
+            case GOLD_ETF -> 0.08;
+            case SILVER_ETF -> 0.10;
+        };
+    }
+}
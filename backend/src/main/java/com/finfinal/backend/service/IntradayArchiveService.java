@@ -0,0 +1,247 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.repository.IntradayChunkRepository;
+import com.finfinal.backend.repository.IntradayPriceBatchRepository;
+import com.finfinal.backend.timeseries.ChunkDecoder;
+import com.finfinal.backend.timeseries.ChunkEncoder;
+import com.finfinal.backend.timeseries.DayArchive;
+import com.finfinal.backend.timeseries.DayArchiveWriter;
+import com.finfinal.backend.timeseries.Series;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier for intraday history. Once a day is older than archive-after-days and fully
+ * compacted, its intraday_chunks rows are merged into one chunk per asset, written to a
+ * DayArchive file (archive-dir/yyyy-MM-dd.ida) and removed from the database.
+ *
+ * archivedUntil is the start of the day after the newest archive file: reads take anything
+ * before it from the files, which are memory-mapped on first use and kept open in a small
+ * LRU cache.
+ */
+@Service
+public class IntradayArchiveService {
+
+    private static final String SUFFIX = ".ida";
+    private static final int OPEN_FILES = 32;
+    private static final int DELETE_CHUNK_ROWS = 5000;
+
+    private final IntradayChunkRepository chunkRepo;
+    private final IntradayPriceBatchRepository batchRepo;
+    private final IntradayChunkService chunkService;
+    private final MarketClock marketClock;
+
+    @Value("${intraday.archive-dir:data/intraday-archive}")
+    private String archiveDir;
+
+    @Value("${intraday.archive-after-days:7}")
+    private int archiveAfterDays;
+
+    private volatile LocalDateTime archivedUntil;
+
+    // access-ordered, guarded by itself
+    private final Map<LocalDate, DayArchive> open = new LinkedHashMap<>(OPEN_FILES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, DayArchive> eldest) {
+            return size() > OPEN_FILES;
+        }
+    };
+
+    public IntradayArchiveService(IntradayChunkRepository chunkRepo,
+                                  IntradayPriceBatchRepository batchRepo,
+                                  IntradayChunkService chunkService,
+                                  MarketClock marketClock) {
+        this.chunkRepo = chunkRepo;
+        this.batchRepo = batchRepo;
+        this.chunkService = chunkService;
+        this.marketClock = marketClock;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path dir = Paths.get(archiveDir);
+        Files.createDirectories(dir);
+
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> LocalDate.parse(name.substring(0, name.length() - SUFFIX.length())))
+                    .max(LocalDate::compareTo)
+                    .ifPresent(last -> archivedUntil = last.plusDays(1).atStartOfDay());
+        }
+    }
+
+    public LocalDateTime getArchivedUntil() {
+        return archivedUntil;
+    }
+
+    // Moves every eligible day from intraday_chunks to archive files, oldest first.
+    public synchronized void archive() {
+        LocalDateTime compactedUntil = chunkService.getCompactedUntil();
+        LocalDateTime first = chunkRepo.findFirstBucketStart();
+        if (compactedUntil == null || first == null) return;
+
+        LocalDate limit = marketClock.today().minusDays(archiveAfterDays);
+        for (LocalDate day = first.toLocalDate(); day.isBefore(limit); day = day.plusDays(1)) {
+            LocalDateTime end = day.plusDays(1).atStartOfDay();
+            if (end.isAfter(compactedUntil)) break;
+
+            archiveDay(day);
+        }
+    }
+
+    // Appends archived points of [from, to) to out as epoch seconds, oldest first.
+    public void read(Long assetId, LocalDateTime from, LocalDateTime to, Series out) {
+        long fromSecond = from.toEpochSecond(ZoneOffset.UTC);
+        long toSecond = to.toEpochSecond(ZoneOffset.UTC);
+
+        for (LocalDate day = from.toLocalDate(); day.atStartOfDay().isBefore(to); day = day.plusDays(1)) {
+            DayArchive file = file(day);
+            if (file == null) continue;
+
+            byte[] chunk = file.find(assetId);
+            if (chunk == null) continue;
+
+            ChunkDecoder decoder = new ChunkDecoder(chunk);
+            while (decoder.next()) {
+                long time = decoder.time();
+                if (time < fromSecond) continue;
+                if (time >= toSecond) break;
+                out.add(time, decoder.value());
+            }
+        }
+    }
+
+    // Each asset's last archived price in [from, to), later points overwrite earlier ones in out
+    public void lastPrices(LocalDateTime from, LocalDateTime to, Map<Long, Double> out) {
+        long fromSecond = from.toEpochSecond(ZoneOffset.UTC);
+        long toSecond = to.toEpochSecond(ZoneOffset.UTC);
+
+        for (LocalDate day = from.toLocalDate(); day.atStartOfDay().isBefore(to); day = day.plusDays(1)) {
+            DayArchive file = file(day);
+            if (file == null) continue;
+
+            for (int i = 0; i < file.count(); i++) {
+                double last = ChunkDecoder.lastValue(file.chunk(i), fromSecond, toSecond);
+                if (!Double.isNaN(last)) out.put(file.assetId(i), last);
+            }
+        }
+    }
+
+    private void archiveDay(LocalDate day) {
+        long begin = System.nanoTime();
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = start.plusDays(1);
+        Path target = path(day);
+
+        // a file already in place means the last run stopped before removing the rows
+        if (Files.exists(target)) {
+            System.out.println("INTRADAY ARCHIVED: " + day + " - already on disk, "
+                    + deleteChunks(start, end) + " leftover chunks removed");
+            return;
+        }
+
+        try (DayArchiveWriter writer = new DayArchiveWriter(target, day.toEpochDay())) {
+            DayMerger merger = new DayMerger(writer);
+            batchRepo.forEachChunk(start, end, merger);
+            merger.finish();
+            writer.finish();
+
+            // readers switch to the file before the rows go
+            if (archivedUntil == null || end.isAfter(archivedUntil)) archivedUntil = end;
+
+            System.out.println("INTRADAY ARCHIVED: " + day + " - " + writer.count() + " assets, "
+                    + merger.points + " points, " + writer.size() + " bytes, " + deleteChunks(start, end)
+                    + " chunks removed in " + (System.nanoTime() - begin) / 1_000_000 + " ms");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot archive intraday day " + day, e);
+        }
+    }
+
+    private int deleteChunks(LocalDateTime start, LocalDateTime end) {
+        int deleted = 0;
+        int removed;
+        do {
+            removed = batchRepo.deleteChunks(start, end, DELETE_CHUNK_ROWS);
+            deleted += removed;
+        } while (removed == DELETE_CHUNK_ROWS);
+        return deleted;
+    }
+
+    private DayArchive file(LocalDate day) {
+        synchronized (open) {
+            DayArchive file = open.get(day);
+            if (file != null) return file;
+
+            Path path = path(day);
+            if (!Files.exists(path)) return null;
+            try {
+                file = DayArchive.open(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open intraday archive " + path, e);
+            }
+            open.put(day, file);
+            return file;
+        }
+    }
+
+    private Path path(LocalDate day) {
+        return Paths.get(archiveDir, day + SUFFIX);
+    }
+
+    // Chunks arrive ordered by asset then bucket, each asset's buckets are merged into one chunk
+    private static final class DayMerger implements IntradayPriceBatchRepository.ChunkHandler {
+
+        private final DayArchiveWriter writer;
+
+        private long assetId = -1;
+        private ChunkEncoder encoder;
+        private long points;
+
+        DayMerger(DayArchiveWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void accept(long chunkAssetId, byte[] data) {
+            if (chunkAssetId != assetId) {
+                seal();
+                assetId = chunkAssetId;
+                encoder = new ChunkEncoder(8640);   // one capture per 10 s
+            }
+
+            ChunkDecoder decoder = new ChunkDecoder(data);
+            while (decoder.next()) {
+                encoder.add(decoder.time(), decoder.value());
+                points++;
+            }
+        }
+
+        void finish() {
+            seal();
+        }
+
+        private void seal() {
+            if (encoder == null || encoder.count() == 0) return;
+            try {
+                writer.add(assetId, encoder.toByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            encoder = null;
+        }
+    }
+}
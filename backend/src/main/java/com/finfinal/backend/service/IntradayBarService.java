@@ -0,0 +1,216 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.DTO.IntradayBarDto;
+import com.finfinal.backend.config.RetentionConfig;
+import com.finfinal.backend.DTO.LivePriceDto;
+import com.finfinal.backend.enums.BarResolution;
+import com.finfinal.backend.model.IntradayBar;
+import com.finfinal.backend.repository.IntradayBarRepository;
+import com.finfinal.backend.repository.IntradayPriceBatchRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rolls intraday captures up into OHLC bars at every BarResolution as they arrive.
+ *
+ * Each asset has one open bar per resolution in memory; a capture that falls into a later
+ * bucket closes it, and closed bars are written in one batch per capture.
+ *
+ * On startup the raw rows are replayed from the end of the oldest resolution's last
+ * persisted bar (rounded down to the hour, the widest bucket), so bars that were open at
+ * shutdown are closed and written and the current ones are open again. The replay reaches
+ * back no further than raw intraday_prices rows are kept; bars older than that are lost.
+ */
+@Service
+public class IntradayBarService {
+
+    private static final BarResolution[] RESOLUTIONS = BarResolution.values();
+    private static final BarResolution WIDEST = BarResolution.H1;
+    private static final String RAW_TABLE = "intraday_prices";
+
+    private final IntradayBarRepository barRepo;
+    private final IntradayPriceBatchRepository batchRepo;
+    private final RetentionConfig retentionConfig;
+    private final MarketClock marketClock;
+
+    // open bars per asset, indexed by resolution ordinal, guarded by this
+    private final Map<Long, OpenBar[]> openBars = new HashMap<>();
+
+    public IntradayBarService(IntradayBarRepository barRepo,
+                              IntradayPriceBatchRepository batchRepo,
+                              RetentionConfig retentionConfig,
+                              MarketClock marketClock) {
+        this.barRepo = barRepo;
+        this.batchRepo = batchRepo;
+        this.retentionConfig = retentionConfig;
+        this.marketClock = marketClock;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        long begin = System.nanoTime();
+        LocalDateTime now = marketClock.now();
+        LocalDateTime from = replayStart(now);
+
+        List<IntradayBar> closed = new ArrayList<>();
+        synchronized (this) {
+            batchRepo.forEachRow(from, now.plusMinutes(1),
+                    (assetId, price, timestamp) -> apply(assetId, price, toEpochSecond(timestamp), closed));
+        }
+        batchRepo.upsertBars(closed);
+
+        System.out.println("INTRADAY BARS RESTORED: replayed from " + from + ", " + closed.size()
+                + " bars closed in " + (System.nanoTime() - begin) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Hour boundary from which every resolution's bars are rebuilt whole: the earliest end
+     * of a resolution's last persisted bar, rounded down to the hour so no replayed bucket
+     * starts part-way (re-closing a bar that was already written replaces it with the same
+     * values). Never before the oldest raw rows still kept, nor after the current hour.
+     */
+    private LocalDateTime replayStart(LocalDateTime now) {
+        long currentHour = bucketStart(toEpochSecond(now), WIDEST);
+
+        // the hour after the retention cutoff is the first one whose raw rows are all there
+        long retained = toEpochSecond(now.minusDays(rawRetainDays()));
+        long floor = bucketStart(retained + WIDEST.getSeconds() - 1, WIDEST);
+
+        long start = currentHour;
+        for (BarResolution resolution : RESOLUTIONS) {
+            LocalDateTime last = barRepo.findLastBucketStart(resolution);
+            long end = last == null ? floor : toEpochSecond(last) + resolution.getSeconds();
+            start = Math.min(start, bucketStart(end, WIDEST));
+        }
+        if (start < floor) {
+            System.out.println("INTRADAY BARS: raw rows before " + toDateTime(floor)
+                    + " are gone, bars from " + toDateTime(start) + " until then cannot be rebuilt");
+            start = floor;
+        }
+        return toDateTime(Math.min(start, currentHour));
+    }
+
+    // How long raw rows stay around, one day when retention keeps them forever
+    private int rawRetainDays() {
+        for (RetentionConfig.Policy policy : retentionConfig.getTables()) {
+            if (RAW_TABLE.equals(policy.getTable()) && policy.getRetainDays() > 0) return policy.getRetainDays();
+        }
+        return 1;
+    }
+
+    public void onCapture(List<LivePriceDto> prices, LocalDateTime timestamp) {
+        long second = toEpochSecond(timestamp);
+        List<IntradayBar> closed = new ArrayList<>();
+
+        synchronized (this) {
+            for (LivePriceDto price : prices) {
+                apply(price.getAssetId(), price.getPrice(), second, closed);
+            }
+        }
+        batchRepo.upsertBars(closed);
+    }
+
+    // Closed bars in [from, to) followed by the open bar when it starts inside the range
+    public List<IntradayBarDto> getBars(Long assetId, BarResolution resolution, LocalDateTime from, LocalDateTime to) {
+        List<IntradayBarDto> bars = new ArrayList<>();
+
+        for (IntradayBar bar : barRepo
+                .findByAssetIdAndResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                        assetId, resolution, from, to)) {
+            bars.add(new IntradayBarDto(assetId, bar.getBucketStart(),
+                    bar.getOpen(), bar.getHigh(), bar.getLow(), bar.getClose(), bar.getCount()));
+        }
+
+        IntradayBarDto open = null;
+        synchronized (this) {
+            OpenBar[] perResolution = openBars.get(assetId);
+            OpenBar bar = perResolution == null ? null : perResolution[resolution.ordinal()];
+            if (bar != null) {
+                open = new IntradayBarDto(assetId, toDateTime(bar.start), bar.open, bar.high, bar.low, bar.close, bar.count);
+            }
+        }
+
+        if (open != null && !open.getTimestamp().isBefore(from) && open.getTimestamp().isBefore(to)
+                && (bars.isEmpty() || bars.get(bars.size() - 1).getTimestamp().isBefore(open.getTimestamp()))) {
+            bars.add(open);
+        }
+        return bars;
+    }
+
+    private void apply(long assetId, double price, long second, List<IntradayBar> closed) {
+        OpenBar[] perResolution = openBars.computeIfAbsent(assetId, id -> new OpenBar[RESOLUTIONS.length]);
+
+        for (BarResolution resolution : RESOLUTIONS) {
+            long start = bucketStart(second, resolution);
+            OpenBar bar = perResolution[resolution.ordinal()];
+
+            if (bar == null || bar.start != start) {
+                if (bar != null && start > bar.start) closed.add(bar.toEntity(assetId, resolution));
+                if (bar != null && start < bar.start) continue;   // late tick for a bar already closed
+
+                bar = new OpenBar(start, price);
+                perResolution[resolution.ordinal()] = bar;
+            } else {
+                bar.add(price);
+            }
+        }
+    }
+
+    private static long bucketStart(long second, BarResolution resolution) {
+        return Math.floorDiv(second, resolution.getSeconds()) * resolution.getSeconds();
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static final class OpenBar {
+
+        private final long start;
+        private final double open;
+        private double high;
+        private double low;
+        private double close;
+        private int count;
+
+        OpenBar(long start, double price) {
+            this.start = start;
+            this.open = price;
+            this.high = price;
+            this.low = price;
+            this.close = price;
+            this.count = 1;
+        }
+
+        void add(double price) {
+            if (price > high) high = price;
+            if (price < low) low = price;
+            close = price;
+            count++;
+        }
+
+        IntradayBar toEntity(long assetId, BarResolution resolution) {
+            IntradayBar bar = new IntradayBar();
+            bar.setAssetId(assetId);
+            bar.setResolution(resolution);
+            bar.setBucketStart(toDateTime(start));
+            bar.setOpen(open);
+            bar.setHigh(high);
+            bar.setLow(low);
+            bar.setClose(close);
+            bar.setCount(count);
+            return bar;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.model.IntradayChunk;
+import com.finfinal.backend.repository.IntradayChunkRepository;
+import com.finfinal.backend.repository.IntradayPriceBatchRepository;
+import com.finfinal.backend.timeseries.ChunkDecoder;
+import com.finfinal.backend.timeseries.ChunkEncoder;
+import com.finfinal.backend.timeseries.Series;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long-term intraday storage. Raw intraday_prices rows are the hot copy for the current day;
+ * once a time bucket is complete, every asset's rows in it are compressed into one
+ * IntradayChunk (delta-of-delta timestamps, XORed prices) so weeks of history stay small.
+ *
+ * Timestamps are kept to the second inside chunks. compactedUntil is the end of the last
+ * compacted bucket: reads take anything before it from chunks and anything after from raw rows.
+ */
+@Service
+public class IntradayChunkService {
+
+    // buckets still receiving captures are left alone for this long after they end
+    private static final int GRACE_SECONDS = 60;
+
+    private final IntradayChunkRepository chunkRepo;
+    private final IntradayPriceBatchRepository batchRepo;
+    private final MarketClock marketClock;
+
+    @Value("${intraday.chunk-minutes:60}")
+    private int chunkMinutes;
+
+    private volatile LocalDateTime compactedUntil;
+
+    public IntradayChunkService(IntradayChunkRepository chunkRepo,
+                                IntradayPriceBatchRepository batchRepo,
+                                MarketClock marketClock) {
+        this.chunkRepo = chunkRepo;
+        this.batchRepo = batchRepo;
+        this.marketClock = marketClock;
+    }
+
+    @PostConstruct
+    public void init() {
+        compactedUntil = chunkRepo.findLastBucketEnd();
+    }
+
+    public LocalDateTime getCompactedUntil() {
+        return compactedUntil;
+    }
+
+    // Compresses every complete bucket that has raw rows and no chunks yet.
+    public void compact() {
+        LocalDateTime openBucket = bucketStart(marketClock.now().minusSeconds(GRACE_SECONDS));
+        LocalDateTime cursor = compactedUntil != null ? compactedUntil : LocalDateTime.of(1970, 1, 1, 0, 0);
+
+        while (true) {
+            LocalDateTime first = batchRepo.findFirstTimestampFrom(cursor);
+            if (first == null) break;
+
+            LocalDateTime start = bucketStart(first);
+            if (!start.isBefore(openBucket)) break;
+
+            LocalDateTime end = start.plusMinutes(chunkMinutes);
+            compactBucket(start, end);
+            compactedUntil = end;
+            cursor = end;
+        }
+    }
+
+    // Appends decoded chunk points in [from, to) to out as epoch seconds, oldest first.
+    public void read(Long assetId, LocalDateTime from, LocalDateTime to, Series out) {
+        long fromSecond = toEpochSecond(from);
+        long toSecond = toEpochSecond(to);
+
+        for (IntradayChunk chunk : chunkRepo.findOverlapping(assetId, from, to)) {
+            ChunkDecoder decoder = new ChunkDecoder(chunk.getData());
+            while (decoder.next()) {
+                long time = decoder.time();
+                if (time < fromSecond) continue;
+                if (time >= toSecond) break;
+                out.add(time, decoder.value());
+            }
+        }
+    }
+
+    // Each asset's last compacted price in [from, to), later points overwrite earlier ones in out
+    public void lastPrices(LocalDateTime from, LocalDateTime to, Map<Long, Double> out) {
+        long fromSecond = toEpochSecond(from);
+        long toSecond = toEpochSecond(to);
+        batchRepo.forEachChunk(bucketStart(from), to,
+                (assetId, data) -> {
+                    double last = ChunkDecoder.lastValue(data, fromSecond, toSecond);
+                    if (!Double.isNaN(last)) out.put(assetId, last);
+                });
+    }
+
+    private void compactBucket(LocalDateTime start, LocalDateTime end) {
+        long begin = System.nanoTime();
+
+        BucketCollector collector = new BucketCollector(start, end, chunkMinutes * 6);   // one capture per 10 s
+        batchRepo.forEachRow(start, end, collector);
+        List<IntradayChunk> chunks = collector.finish();
+
+        batchRepo.insertChunks(chunks);
+
+        long bytes = chunks.stream().mapToLong(c -> c.getData().length).sum();
+        System.out.println("INTRADAY COMPACTED: " + start + " - " + collector.rows + " rows into "
+                + chunks.size() + " chunks, " + bytes + " bytes ("
+                + String.format("%.1f", collector.rows == 0 ? 0 : bytes * 8.0 / collector.rows) + " bits/point) in "
+                + (System.nanoTime() - begin) / 1_000_000 + " ms");
+    }
+
+    // Rows arrive ordered by asset, so one encoder is open at a time
+    private static final class BucketCollector implements IntradayPriceBatchRepository.RowHandler {
+
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int expectedPoints;
+        private final List<IntradayChunk> chunks = new ArrayList<>();
+
+        private long assetId = -1;
+        private ChunkEncoder encoder;
+        private long rows;
+
+        BucketCollector(LocalDateTime start, LocalDateTime end, int expectedPoints) {
+            this.start = start;
+            this.end = end;
+            this.expectedPoints = expectedPoints;
+        }
+
+        @Override
+        public void accept(long rowAssetId, double price, LocalDateTime timestamp) {
+            if (rowAssetId != assetId) {
+                seal();
+                assetId = rowAssetId;
+                encoder = new ChunkEncoder(expectedPoints);
+            }
+            encoder.add(toEpochSecond(timestamp), price);
+            rows++;
+        }
+
+        List<IntradayChunk> finish() {
+            seal();
+            return chunks;
+        }
+
+        private void seal() {
+            if (encoder == null) return;
+
+            IntradayChunk chunk = new IntradayChunk();
+            chunk.setAssetId(assetId);
+            chunk.setBucketStart(start);
+            chunk.setBucketEnd(end);
+            chunk.setPointCount(encoder.count());
+            chunk.setData(encoder.toByteArray());
+            chunks.add(chunk);
+            encoder = null;
+        }
+    }
+
+    private LocalDateTime bucketStart(LocalDateTime time) {
+        long bucketSeconds = chunkMinutes * 60L;
+        long second = toEpochSecond(time);
+        return toDateTime(Math.floorDiv(second, bucketSeconds) * bucketSeconds);
+    }
+
+    // LocalDateTime is zone-less everywhere in this schema, so the wall clock is encoded as if it were UTC
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
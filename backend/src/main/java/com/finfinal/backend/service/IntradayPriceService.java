@@ -1,58 +1,122 @@
 package com.finfinal.backend.service;
 
+import com.finfinal.backend.DTO.IntradayBarDto;
+import com.finfinal.backend.DTO.IntradayPointDto;
+import com.finfinal.backend.DTO.LivePriceDto;
+import com.finfinal.backend.enums.BarResolution;
 import com.finfinal.backend.model.*;
 import com.finfinal.backend.repository.*;
+import com.finfinal.backend.timeseries.Series;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class IntradayPriceService {
 
-    private final LivePriceRepository liveRepo;
-    private final IntradayPriceRepository intradayRepo;
+    private final LivePriceBoard liveBoard;
+    private final IntradayPriceBatchRepository intradayBatchRepo;
     private final AssetRepository assetRepo;
+    private final IntradayChunkService chunkService;
+    private final IntradayArchiveService archiveService;
+    private final IntradayBarService barService;
+    private final MarketClock marketClock;
 
     public IntradayPriceService(
-            LivePriceRepository liveRepo,
-            IntradayPriceRepository intradayRepo,
-            AssetRepository assetRepo
+            LivePriceBoard liveBoard,
+            IntradayPriceBatchRepository intradayBatchRepo,
+            AssetRepository assetRepo,
+            IntradayChunkService chunkService,
+            IntradayArchiveService archiveService,
+            IntradayBarService barService,
+            MarketClock marketClock
     ) {
-        this.liveRepo = liveRepo;
-        this.intradayRepo = intradayRepo;
+        this.liveBoard = liveBoard;
+        this.intradayBatchRepo = intradayBatchRepo;
         this.assetRepo = assetRepo;
+        this.chunkService = chunkService;
+        this.archiveService = archiveService;
+        this.barService = barService;
+        this.marketClock = marketClock;
     }
 
+    /**
+     * Captures the current board as intraday rows with one batched insert, then syncs
+     * Asset.currentPrice (for trades) with one set-based update. The statement count
+     * no longer grows with the number of assets. The same rows roll into the OHLC bars.
+     */
     @Transactional
     public void captureSnapshot() {
 
-        List<LivePrice> livePrices = liveRepo.findAll();
+        long start = System.nanoTime();
+        List<LivePriceDto> livePrices = liveBoard.current().getAll();
 
-        for (LivePrice live : livePrices) {
+        LocalDateTime now = marketClock.now();
 
-            //Save intraday price
-            IntradayPrice ip = new IntradayPrice();
-            ip.setAssetId(live.getAssetId());
-            ip.setPrice(live.getPrice());
-            ip.setTimestamp(LocalDateTime.now());
-            intradayRepo.save(ip);
+        int batches = intradayBatchRepo.insertAll(livePrices, now);
+        barService.onCapture(livePrices, now);
+        int updated = assetRepo.syncCurrentPricesFromLive();
 
-            //Sync Asset.currentPrice (for trades)
-            assetRepo.findById(live.getAssetId()).ifPresent(asset -> {
-                asset.setCurrentPrice(live.getPrice());
-                assetRepo.save(asset);
-            });
+        System.out.println("INTRADAY CAPTURE: " + livePrices.size() + " rows in " + batches
+                + " batch(es), " + updated + " asset prices synced in 1 update, "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    // Last 24 hours
+    public List<IntradayPointDto> getIntradayPrices(Long assetId) {
+        LocalDateTime now = marketClock.now();
+        return getIntradayPrices(assetId, now.minusDays(1), now, 0);
+    }
+
+    /**
+     * Points in [from, to), read tier by tier: archive files up to archivedUntil, compacted
+     * chunks up to the chunk watermark, raw rows after it. With maxPoints > 0 the series is
+     * LTTB-downsampled to at most that many points before any DTO is built.
+     */
+    public List<IntradayPointDto> getIntradayPrices(Long assetId, LocalDateTime from, LocalDateTime to, int maxPoints) {
+        Series series = new Series(maxPoints > 0 ? maxPoints : 1024);
+        LocalDateTime archivedUntil = archiveService.getArchivedUntil();
+        LocalDateTime compactedUntil = chunkService.getCompactedUntil();
+
+        LocalDateTime cursor = from;
+        if (archivedUntil != null && cursor.isBefore(archivedUntil)) {
+            LocalDateTime archiveTo = to.isBefore(archivedUntil) ? to : archivedUntil;
+            archiveService.read(assetId, cursor, archiveTo, series);
+            cursor = archivedUntil;
+        }
+
+        if (compactedUntil != null && cursor.isBefore(compactedUntil) && cursor.isBefore(to)) {
+            LocalDateTime chunkTo = to.isBefore(compactedUntil) ? to : compactedUntil;
+            chunkService.read(assetId, cursor, chunkTo, series);
+            cursor = compactedUntil;
         }
+
+        if (cursor.isBefore(to)) {
+            intradayBatchRepo.readSeries(assetId, cursor, to, series);
+        }
+
+        int[] kept = series.downsample(maxPoints > 0 ? maxPoints : series.size());
+        List<IntradayPointDto> points = new ArrayList<>(kept.length);
+        for (int i : kept) {
+            points.add(new IntradayPointDto(assetId, series.value(i),
+                    LocalDateTime.ofEpochSecond(series.time(i), 0, ZoneOffset.UTC)));
+        }
+        return points;
     }
 
-    public List<IntradayPrice> getIntradayPrices(Long assetId) {
-        return intradayRepo.findByAssetIdOrderByTimestampAsc(assetId);
+    public List<IntradayBarDto> getBars(Long assetId, BarResolution resolution, LocalDateTime from, LocalDateTime to) {
+        return barService.getBars(assetId, resolution, from, to);
     }
 
-    public void purgeOldData() {
-        intradayRepo.deleteByTimestampBefore(LocalDateTime.now().minusDays(1));
+    public void compactChunks() {
+        chunkService.compact();
     }
-}
 
+    public void archiveOldDays() {
+        archiveService.archive();
+    }
+}
@@ -0,0 +1,91 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.DTO.LivePriceDto;
+import com.finfinal.backend.model.LivePrice;
+import com.finfinal.backend.repository.LivePriceRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process copy of live_prices that the REST layer reads from.
+ *
+ * Each ingested tick builds a new immutable Board and swaps it in with one atomic
+ * reference update, so readers never lock and always see a whole tick, never half of one.
+ * The version goes up by one per publish and doubles as an ETag for pollers.
+ * live_prices stays the durable copy; the board is loaded from it on startup.
+ */
+@Component
+public class LivePriceBoard {
+
+    public static final class Board {
+
+        private final long version;
+        private final Map<Long, LivePriceDto> byAssetId;
+        private final List<LivePriceDto> all;   // ordered by asset id
+
+        private Board(long version, Map<Long, LivePriceDto> byAssetId) {
+            this.version = version;
+            this.byAssetId = byAssetId;
+
+            List<LivePriceDto> list = new ArrayList<>(byAssetId.values());
+            list.sort(Comparator.comparing(LivePriceDto::getAssetId));
+            this.all = Collections.unmodifiableList(list);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public LivePriceDto get(Long assetId) {
+            return byAssetId.get(assetId);
+        }
+
+        public List<LivePriceDto> getAll() {
+            return all;
+        }
+
+        public int size() {
+            return all.size();
+        }
+    }
+
+    private final LivePriceRepository repository;
+    private final AtomicReference<Board> current = new AtomicReference<>(new Board(0, Map.of()));
+
+    public LivePriceBoard(LivePriceRepository repository) {
+        this.repository = repository;
+    }
+
+    @PostConstruct
+    public void load() {
+        Map<Long, LivePriceDto> prices = new HashMap<>();
+        for (LivePrice live : repository.findAll()) {
+            prices.put(live.getAssetId(), new LivePriceDto(live.getAssetId(), live.getPrice(), live.getUpdatedAt()));
+        }
+        current.set(new Board(1, prices));
+    }
+
+    public Board current() {
+        return current.get();
+    }
+
+    // Applies the first count entries as one tick, visible to readers all at once.
+    public Board publish(long[] ids, double[] prices, int count, LocalDateTime updatedAt) {
+        return current.updateAndGet(board -> {
+            Map<Long, LivePriceDto> next = new HashMap<>(board.byAssetId);
+            for (int i = 0; i < count; i++) {
+                next.put(ids[i], new LivePriceDto(ids[i], prices[i], updatedAt));
+            }
+            return new Board(board.version + 1, next);
+        });
+    }
+}
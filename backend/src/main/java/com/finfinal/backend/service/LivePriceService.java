@@ -1,40 +1,34 @@
 package com.finfinal.backend.service;
 
 import com.finfinal.backend.DTO.LivePriceDto;
-import com.finfinal.backend.model.LivePrice;
-import com.finfinal.backend.repository.LivePriceRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+// Served from the in-memory board, MySQL is only read once at startup
 @Service
 public class LivePriceService {
 
-    private final LivePriceRepository repository;
+    private final LivePriceBoard board;
 
-    public LivePriceService(LivePriceRepository repository) {
-        this.repository = repository;
+    public LivePriceService(LivePriceBoard board) {
+        this.board = board;
     }
 
     public List<LivePriceDto> getAllLivePrices() {
-        return repository.findAll()
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return board.current().getAll();
     }
 
     public LivePriceDto getLivePriceForAsset(Long assetId) {
-        LivePrice price = repository.findById(assetId)
-                .orElseThrow(() -> new RuntimeException("Live price not found"));
-        return toDto(price);
+        LivePriceDto price = board.current().get(assetId);
+        if (price == null) {
+            throw new RuntimeException("Live price not found");
+        }
+        return price;
     }
 
-    private LivePriceDto toDto(LivePrice live) {
-        return new LivePriceDto(
-                live.getAssetId(),
-                live.getPrice(),
-                live.getUpdatedAt()
-        );
+    // Whole current tick, for callers that need the list and its version to agree
+    public LivePriceBoard.Board getBoard() {
+        return board.current();
     }
 }
\ No newline at end of file
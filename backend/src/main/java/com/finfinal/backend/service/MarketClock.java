@@ -0,0 +1,57 @@
+package com.finfinal.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * The backend's "now" for market data.
+ *
+ * With market-sim.clock=wall (the default) this is the wall clock. With market-sim.clock=feed
+ * it is the timestamp of the last market-sim frame applied, so a replay running faster than
+ * real time stamps live prices, intraday rows and bars in simulated time, and closes a day
+ * each time the feed crosses midnight. Until the first frame arrives the feed clock reads
+ * the wall clock.
+ */
+@Component
+public class MarketClock {
+
+    // wall | feed
+    @Value("${market-sim.clock:wall}")
+    private String mode;
+
+    private volatile LocalDateTime feedTime;
+
+    public boolean isFeedDriven() {
+        return "feed".equalsIgnoreCase(mode);
+    }
+
+    public LocalDateTime now() {
+        LocalDateTime time = feedTime;
+        return time != null && isFeedDriven() ? time : LocalDateTime.now();
+    }
+
+    public LocalDate today() {
+        return now().toLocalDate();
+    }
+
+    /**
+     * Moves the feed clock to a frame's timestamp (epoch millis, 0 or less when the source
+     * sent none). Never moves backwards. Returns the new day when the frame is the first
+     * one past midnight, otherwise null; always null on the wall clock.
+     */
+    public synchronized LocalDate advance(long timestampMs) {
+        if (!isFeedDriven() || timestampMs <= 0) return null;
+
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMs), ZoneId.systemDefault());
+        LocalDateTime previous = feedTime;
+        if (previous != null && !time.isAfter(previous)) return null;
+
+        feedTime = time;
+        return previous != null && time.toLocalDate().isAfter(previous.toLocalDate()) ? time.toLocalDate() : null;
+    }
+}
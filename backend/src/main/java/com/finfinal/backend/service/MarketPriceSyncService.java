@@ -1,57 +1,99 @@
 package com.finfinal.backend.service;
 
 
-import com.finfinal.backend.DTO.SimulatedPriceDto;
-import com.finfinal.backend.model.Asset;
-import com.finfinal.backend.model.LivePrice;
+import com.finfinal.backend.DTO.LivePriceDto;
+import com.finfinal.backend.DTO.PriceFrame;
 import com.finfinal.backend.repository.AssetRepository;
-import com.finfinal.backend.repository.LivePriceRepository;
-import com.finfinal.backend.repository.PriceHistoryRepository;
+import com.finfinal.backend.repository.LivePriceBatchRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Service
 public class MarketPriceSyncService {
 
     private final AssetRepository assetRepository;
-    private final LivePriceRepository livePriceRepository;
+    private final LivePriceBatchRepository livePriceBatchRepository;
     private final MarketSimClient marketSimClient;
+    private final LivePriceBoard livePriceBoard;
+    private final PortfolioValuationEngine valuationEngine;
+    private final MarketClock marketClock;
+    private final DailyCloseService dailyCloseService;
+
+    // Last market-sim tick applied, -1 until the first frame arrives
+    private volatile long lastSeq = -1;
 
     public MarketPriceSyncService(
             AssetRepository assetRepository,
-            LivePriceRepository livePriceRepository,
-            MarketSimClient marketSimClient) {
+            LivePriceBatchRepository livePriceBatchRepository,
+            MarketSimClient marketSimClient,
+            LivePriceBoard livePriceBoard,
+            PortfolioValuationEngine valuationEngine,
+            MarketClock marketClock,
+            DailyCloseService dailyCloseService) {
 
         this.assetRepository = assetRepository;
-        this.livePriceRepository = livePriceRepository;
+        this.livePriceBatchRepository = livePriceBatchRepository;
         this.marketSimClient = marketSimClient;
+        this.livePriceBoard = livePriceBoard;
+        this.valuationEngine = valuationEngine;
+        this.marketClock = marketClock;
+        this.dailyCloseService = dailyCloseService;
     }
 
+    // Polls only what moved since the last applied tick
     @Transactional
     public void syncPrices() {
+        PriceFrame changes = marketSimClient.fetchPricesSince(lastSeq);
+        if (changes == null) return;
+
+        applyFrame(changes);
+    }
+
+    /**
+     * Entry point for both the poller and the streaming consumer.
+     * Writes the whole frame as one batched upsert, leaving out assets whose price
+     * is the same as the one on the board, then publishes the tick to the board and
+     * the portfolio valuation.
+     * On the feed clock the rows carry the frame's timestamp, and the first frame past
+     * midnight closes the new day on the previous prices first, as the midnight job does.
+     */
+    @Transactional
+    public void applyFrame(PriceFrame frame) {
+
+        long start = System.nanoTime();
 
-        List<SimulatedPriceDto> prices = marketSimClient.fetchPrices();
+        LocalDate newDay = marketClock.advance(frame.getTimestamp());
+        if (newDay != null) dailyCloseService.closeDay(newDay);
 
-        for (SimulatedPriceDto dto : prices) {
+        LivePriceBoard.Board board = livePriceBoard.current();
+        int size = frame.size();
+        long[] ids = new long[size];
+        double[] prices = new double[size];
+        int changed = 0;
 
-            Long assetId = dto.getId();
-            if (assetId == null) continue;
+        for (int i = 0; i < size; i++) {
+            LivePriceDto written = board.get(frame.getId(i));
+            if (written != null && written.getPrice() == frame.getPrice(i)) continue;
 
-            LivePrice livePrice = livePriceRepository
-                    .findById(assetId)
-                    .orElseGet(() -> {
-                        LivePrice lp = new LivePrice();
-                        lp.setAssetId(assetId);
-                        return lp;
-                    });
+            ids[changed] = frame.getId(i);
+            prices[changed] = frame.getPrice(i);
+            changed++;
+        }
 
-            livePrice.setPrice(dto.getPrice());
-            livePrice.setUpdatedAt(LocalDateTime.now());
+        LocalDateTime now = marketClock.now();
+        livePriceBatchRepository.upsert(ids, prices, changed, now);
 
-            livePriceRepository.save(livePrice);
+        // readers only see prices once they have been sent to the durable copy
+        if (changed > 0) {
+            livePriceBoard.publish(ids, prices, changed, now);
+            valuationEngine.onPrices(ids, prices, changed);
         }
+        if (frame.getSeq() >= 0) lastSeq = frame.getSeq();
+
+        System.out.println("LIVE PRICES WRITTEN: " + changed + " of " + size + " rows in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
     }
-}
\ No newline at end of file
+}
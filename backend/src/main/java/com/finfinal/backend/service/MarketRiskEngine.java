@@ -0,0 +1,280 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.DTO.MarketRiskDto;
+import com.finfinal.backend.model.Holding;
+import com.finfinal.backend.repository.HoldingRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-of-day Value-at-Risk and Expected Shortfall for the open holdings.
+ *
+ * Each position keeps a row of its last window daily simple returns in a ring, all rows
+ * sharing one head column, plus its quantity and last close. A position without a close yet
+ * is valued at the asset's current price, and its first return is only taken once a close
+ * exists to measure it from. The portfolio P&L for a past
+ * day is the sum of today's position values times that day's returns; losses are its
+ * negatives. Historical figures come from the empirical tail of those losses (10-day from
+ * overlapping 10-day sums), parametric ones from a normal with their mean and deviation.
+ *
+ * A daily close writes one column and revalues the positions without touching the database;
+ * holdings changes and re-run or back-dated closes reload the rows from ReturnStatsIndex.
+ * Positions with shorter history are zero-padded at the old end. Readers take the last
+ * published result without locking.
+ */
+@Service
+public class MarketRiskEngine {
+
+    private static final int LONG_HORIZON = 10;
+
+    private final HoldingRepository holdingRepository;
+    private final ReturnStatsIndex returnStats;
+
+    @Value("${risk.window-days:250}")
+    private int window;
+
+    @Value("${risk.confidence:0.95}")
+    private double confidence;
+
+    // positions, guarded by this
+    private final Map<Long, Integer> rowByAsset = new HashMap<>();
+    private int[] quantity = new int[0];
+    private double[] close = new double[0];       // last daily close, NaN until the asset has one
+    private double[] price = new double[0];       // close, or the current price while there is none
+    private double[] returns = new double[0];     // row r at r * window, ring column head
+    private int head;                             // next column to write
+    private int observations;
+    private LocalDate lastDay;
+
+    // scratch, guarded by this
+    private double[] pnl = new double[0];
+    private double[] scratch = new double[0];
+
+    private volatile MarketRiskDto current = new MarketRiskDto();
+
+    public MarketRiskEngine(HoldingRepository holdingRepository, ReturnStatsIndex returnStats) {
+        this.holdingRepository = holdingRepository;
+        this.returnStats = returnStats;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (window < 2 || window > returnStats.maxWindow()) {
+            throw new IllegalStateException("risk.window-days is " + window + ", it must be between 2 and "
+                    + returnStats.maxWindow() + " (half of history.stats-capacity)");
+        }
+        if (!(confidence > 0.5 && confidence < 1)) {
+            throw new IllegalStateException("risk.confidence must be above 0.5 and below 1, was " + confidence);
+        }
+        rebuild();
+    }
+
+    public MarketRiskDto current() {
+        return current;
+    }
+
+    // Reloads positions (one query) and their return rows from the index
+    public synchronized void rebuild() {
+        List<Holding> holdings = holdingRepository.findOpenWithAsset();
+        int n = holdings.size();
+
+        rowByAsset.clear();
+        quantity = new int[n];
+        close = new double[n];
+        price = new double[n];
+        returns = new double[n * window];
+        pnl = new double[window];
+        scratch = new double[window];
+        head = 0;
+        observations = 0;
+
+        LocalDate latest = null;
+        double[] row = new double[window];
+        for (int r = 0; r < n; r++) {
+            Holding holding = holdings.get(r);
+            long assetId = holding.getAsset().getId();
+            rowByAsset.put(assetId, r);
+            quantity[r] = holding.getQuantity();
+
+            double last = returnStats.lastClose(assetId);
+            close[r] = last;
+            price[r] = Double.isNaN(last) ? holding.getAsset().getCurrentPrice() : last;
+
+            // right-aligned so every row's newest return sits in the column before head
+            int count = returnStats.copyReturns(assetId, window, row);
+            System.arraycopy(row, 0, returns, r * window + window - count, count);
+            observations = Math.max(observations, count);
+
+            LocalDate day = returnStats.lastDay(assetId);
+            if (day != null && (latest == null || day.isAfter(latest))) latest = day;
+        }
+        lastDay = latest;
+        publish();
+    }
+
+    public void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuild();
+            }
+        });
+    }
+
+    /**
+     * Appends one day's closes after ReturnStatsIndex has taken them. Held assets missing
+     * from the batch did not move that day. A day at or before the last one applied means
+     * the stored history changed, so the rows are reloaded.
+     */
+    public synchronized void onDayClosed(long[] ids, double[] closes, int count, LocalDate date) {
+        if (lastDay != null && !date.isAfter(lastDay)) {
+            rebuild();
+            return;
+        }
+
+        int n = quantity.length;
+        for (int r = 0; r < n; r++) {
+            returns[r * window + head] = 0;
+        }
+        for (int i = 0; i < count; i++) {
+            Integer r = rowByAsset.get(ids[i]);
+            if (r == null) continue;
+            double previous = close[r];
+            // NaN fails the test, so the first close of an asset only sets its reference
+            returns[r * window + head] = previous > 0 ? closes[i] / previous - 1 : 0;
+            close[r] = closes[i];
+            price[r] = closes[i];
+        }
+        head = head + 1 == window ? 0 : head + 1;
+        observations = Math.min(window, observations + 1);
+        lastDay = date;
+        publish();
+    }
+
+    private void publish() {
+        long start = System.nanoTime();
+        int n = quantity.length;
+        int obs = observations;
+
+        double value = 0;
+        for (int r = 0; r < n; r++) {
+            value += quantity[r] * price[r];
+        }
+
+        MarketRiskDto dto = new MarketRiskDto();
+        dto.setAsOf(lastDay);
+        dto.setConfidence(confidence);
+        dto.setObservations(obs);
+        dto.setPortfolioValue(round(value));
+
+        if (obs >= 2) {
+            // pnl[t], oldest first, walking each row once
+            Arrays.fill(pnl, 0, obs, 0);
+            int first = Math.floorMod(head - obs, window);
+            for (int r = 0; r < n; r++) {
+                double v = quantity[r] * price[r];
+                if (v == 0) continue;
+                int base = r * window;
+                int c = first;
+                for (int t = 0; t < obs; t++) {
+                    pnl[t] += v * returns[base + c];
+                    if (++c == window) c = 0;
+                }
+            }
+
+            // 1 day
+            for (int t = 0; t < obs; t++) scratch[t] = -pnl[t];
+            double[] tail = tail(scratch, obs);
+            dto.setHistoricalVar1d(round(tail[0]));
+            dto.setHistoricalEs1d(round(tail[1]));
+
+            // 10 day, overlapping windows; short histories fall back to square-root-of-time
+            if (obs >= LONG_HORIZON + 1) {
+                int windows = obs - LONG_HORIZON + 1;
+                double sum = 0;
+                for (int t = 0; t < LONG_HORIZON; t++) sum += pnl[t];
+                scratch[0] = -sum;
+                for (int t = 1; t < windows; t++) {
+                    sum += pnl[t + LONG_HORIZON - 1] - pnl[t - 1];
+                    scratch[t] = -sum;
+                }
+                tail = tail(scratch, windows);
+            } else {
+                tail[0] *= Math.sqrt(LONG_HORIZON);
+                tail[1] *= Math.sqrt(LONG_HORIZON);
+            }
+            dto.setHistoricalVar10d(round(tail[0]));
+            dto.setHistoricalEs10d(round(tail[1]));
+
+            double mean = 0;
+            for (int t = 0; t < obs; t++) mean += pnl[t];
+            mean /= obs;
+            double ss = 0;
+            for (int t = 0; t < obs; t++) ss += (pnl[t] - mean) * (pnl[t] - mean);
+            double sd = Math.sqrt(ss / (obs - 1));
+
+            double z = inverseNormal(confidence);
+            double esFactor = Math.exp(-0.5 * z * z) / Math.sqrt(2 * Math.PI) / (1 - confidence);
+            double sd10 = sd * Math.sqrt(LONG_HORIZON);
+            dto.setParametricVar1d(round(-mean + z * sd));
+            dto.setParametricEs1d(round(-mean + esFactor * sd));
+            dto.setParametricVar10d(round(-mean * LONG_HORIZON + z * sd10));
+            dto.setParametricEs10d(round(-mean * LONG_HORIZON + esFactor * sd10));
+        }
+        current = dto;
+
+        System.out.println("MARKET RISK: " + n + " positions x " + obs + " days in "
+                + (System.nanoTime() - start) / 1000 + " us");
+    }
+
+    // {VaR, ES} of the first count losses: the k-th largest loss and the mean of the k largest
+    private double[] tail(double[] losses, int count) {
+        int k = Math.max(1, (int) Math.ceil(count * (1 - confidence) - 1e-9));
+        Arrays.sort(losses, 0, count);
+        double sum = 0;
+        for (int i = count - k; i < count; i++) sum += losses[i];
+        return new double[]{losses[count - k], sum / k};
+    }
+
+    // Acklam's rational approximation of the standard normal quantile, relative error < 1.2e-9
+    private static double inverseNormal(double p) {
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - 0.02425) {
+            return -inverseNormal(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    private double round(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+}
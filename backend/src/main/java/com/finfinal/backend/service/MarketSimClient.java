@@ -1,25 +1,185 @@
 package com.finfinal.backend.service;
 
+import com.finfinal.backend.DTO.PriceFrame;
 import com.finfinal.backend.DTO.SimulatedPriceDto;
+import com.finfinal.backend.DTO.TickFrameDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.ObjectMapper;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class MarketSimClient {
 
+    private static final long RECONNECT_DELAY_MS = 2000;
+    private static final String TICK_EPOCH_HEADER = "X-Tick-Epoch";
+
     private final RestTemplate restTemplate = new RestTemplate();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper;
+
+    @Value("${market-sim.base-url:http://localhost:8081}")
+    private String baseUrl;
+
+    // poll = GET /simulate/prices on the scheduler, stream = subscribe to /simulate/stream
+    @Value("${market-sim.mode:poll}")
+    private String mode;
 
-    private static final String SIM_URL =
-            "http://localhost:8081/simulate/prices";
+    // json | binary, binary asks for application/x-price-frame on polls
+    @Value("${market-sim.wire-format:json}")
+    private String wireFormat;
+
+    // Run of market-sim the last poll came from, sent back so a restarted simulator
+    // answers a stale sequence with the full universe instead of a partial diff
+    private volatile String epoch = "";
+
+    public MarketSimClient(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isStreaming() {
+        return "stream".equalsIgnoreCase(mode);
+    }
 
     public List<SimulatedPriceDto> fetchPrices() {
 
         SimulatedPriceDto[] response =
-                restTemplate.getForObject(SIM_URL, SimulatedPriceDto[].class);
+                restTemplate.getForObject(baseUrl + "/simulate/prices", SimulatedPriceDto[].class);
 
         return Arrays.asList(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Only the assets that moved after tick seq. Returns null when market-sim answers
+     * 304 (nothing moved). Pass -1 to get the full universe together with its sequence.
+     * After a market-sim restart the full universe comes back whatever seq is.
+     */
+    public PriceFrame fetchPricesSince(long seq) {
+
+        if ("binary".equalsIgnoreCase(wireFormat)) {
+            return fetchBinaryPricesSince(seq);
+        }
+
+        ResponseEntity<TickFrameDto> response =
+                restTemplate.getForEntity(sinceUrl(), TickFrameDto.class, seq, epoch);
+        rememberEpoch(response);
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) || response.getBody() == null) {
+            return null;
+        }
+
+        TickFrameDto tick = response.getBody();
+        return PriceFrame.of(tick.getSeq(), tick.getTimestamp(), tick.getPrices());
+    }
+
+    private PriceFrame fetchBinaryPricesSince(long seq) {
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.parseMediaType(PriceFrame.MEDIA_TYPE)));
+
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+                sinceUrl(),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                byte[].class,
+                seq,
+                epoch
+        );
+        rememberEpoch(response);
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) || response.getBody() == null) {
+            return null;
+        }
+
+        return PriceFrame.decode(ByteBuffer.wrap(response.getBody()));
+    }
+
+    private String sinceUrl() {
+        return epoch.isEmpty()
+                ? baseUrl + "/simulate/prices?since={seq}"
+                : baseUrl + "/simulate/prices?since={seq}&epoch={epoch}";
+    }
+
+    private void rememberEpoch(ResponseEntity<?> response) {
+        String current = response.getHeaders().getFirst(TICK_EPOCH_HEADER);
+        if (current != null) epoch = current;
+    }
+
+    /**
+     * Starts a background reader on /simulate/stream and hands every tick to onFrame.
+     * Reconnects after a short delay whenever the connection drops.
+     */
+    public void stream(Consumer<PriceFrame> onFrame) {
+        Thread reader = new Thread(() -> readStream(onFrame), "market-sim-stream");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void readStream(Consumer<PriceFrame> onFrame) {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/simulate/stream"))
+                .header("Accept", "text/event-stream")
+                .build();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                HttpResponse<Stream<String>> response =
+                        httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+
+                StringBuilder data = new StringBuilder();
+                Iterator<String> lines = response.body().iterator();
+
+                while (lines.hasNext()) {
+                    String line = lines.next();
+
+                    if (line.startsWith("data:")) {
+                        if (data.length() > 0) data.append('\n');
+                        data.append(line, line.startsWith("data: ") ? 6 : 5, line.length());
+                    } else if (line.isEmpty() && data.length() > 0) {
+                        dispatch(data.toString(), onFrame);
+                        data.setLength(0);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.out.println("MARKET-SIM STREAM DISCONNECTED: " + e.getMessage());
+            }
+
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void dispatch(String json, Consumer<PriceFrame> onFrame) {
+        try {
+            TickFrameDto tick = objectMapper.readValue(json, TickFrameDto.class);
+            onFrame.accept(PriceFrame.of(tick.getSeq(), tick.getTimestamp(), tick.getPrices()));
+        } catch (Exception e) {
+            // a bad frame or a failed sync must not kill the stream
+            System.out.println("FAILED TO APPLY MARKET-SIM TICK: " + e.getMessage());
+        }
+    }
+}
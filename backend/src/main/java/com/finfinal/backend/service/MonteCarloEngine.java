@@ -0,0 +1,247 @@
+package com.finfinal.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo simulation of a portfolio of correlated geometric Brownian motions.
+ *
+ * Every asset's log price moves by drift * dt + vol * sqrt(dt) * y, with y drawn from the
+ * correlation matrix through its Cholesky factor. GBM is exact over any step, so each path
+ * jumps straight from one horizon to the next instead of walking day by day.
+ *
+ * Paths are split across the engine's own fork-join pool (projection.threads workers, so
+ * projections never take over the common pool) into at most LEAVES leaves; every leaf has its
+ * own SplittableRandom and folds its paths into one histogram per horizon of log(value / start
+ * value). Nothing per path is kept, memory is fixed by the histogram size times the leaf count
+ * whatever the path count. The split depends on the path count only, so a seed gives the same
+ * result with any number of workers.
+ */
+@Component
+public class MonteCarloEngine {
+
+    // histogram of log(V / V0) over [-LOG_RANGE, LOG_RANGE), values outside land in the end bins
+    private static final double LOG_RANGE = 8.0;
+    private static final int BINS = 8192;
+    private static final double BIN_WIDTH = 2 * LOG_RANGE / BINS;
+
+    // a few leaves per worker keeps the pool balanced, each leaf costs a 64 KB histogram per horizon
+    private static final int LEAVES = 16;
+    private static final int MIN_LEAF_PATHS = 256;
+
+    private final ForkJoinPool pool;
+
+    public MonteCarloEngine(@Value("${projection.threads:0}") int threads) {
+        int workers = threads > 0 ? threads : Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        this.pool = new ForkJoinPool(workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public static final class Result {
+
+        private final long[][] histograms;
+        private final double[] sums;
+        private long paths;
+
+        private Result(long[][] histograms, double[] sums, long paths) {
+            this.histograms = histograms;
+            this.sums = sums;
+            this.paths = paths;
+        }
+
+        public long getPaths() {
+            return paths;
+        }
+
+        // q-th quantile (0..1) of value / start value at the given horizon
+        public double quantile(int horizon, double q) {
+            long[] histogram = histograms[horizon];
+            double target = q * paths;
+            long seen = 0;
+            for (int b = 0; b < BINS; b++) {
+                long count = histogram[b];
+                if (count > 0 && seen + count >= target) {
+                    double within = (target - seen) / count;
+                    return Math.exp(-LOG_RANGE + (b + within) * BIN_WIDTH);
+                }
+                seen += count;
+            }
+            return Math.exp(LOG_RANGE);
+        }
+
+        // Mean of value / start value at the given horizon
+        public double mean(int horizon) {
+            return paths == 0 ? 1 : sums[horizon] / paths;
+        }
+
+        private void merge(Result other) {
+            for (int h = 0; h < histograms.length; h++) {
+                long[] into = histograms[h];
+                long[] from = other.histograms[h];
+                for (int b = 0; b < BINS; b++) into[b] += from[b];
+                sums[h] += other.sums[h];
+            }
+            paths += other.paths;
+        }
+    }
+
+    /**
+     * @param weights     each asset's share of the starting value, summing to 1
+     * @param drift       mean daily log return per asset
+     * @param vol         daily log volatility per asset
+     * @param cholesky    packed lower-triangular factor of the correlation matrix, null for independent assets
+     * @param horizonDays ascending, positive and finite horizons in trading days
+     */
+    public Result simulate(double[] weights, double[] drift, double[] vol, double[] cholesky,
+                           double[] horizonDays, int paths, long seed) {
+        double previous = 0;
+        for (double days : horizonDays) {
+            if (!Double.isFinite(days) || days <= previous) {
+                throw new IllegalArgumentException("Horizons must be positive, finite and ascending: "
+                        + Arrays.toString(horizonDays));
+            }
+            previous = days;
+        }
+        if (paths < 1) throw new IllegalArgumentException("At least one path is needed, was " + paths);
+
+        Model model = new Model(weights, drift, vol, cholesky, horizonDays);
+        int leafPaths = Math.max(MIN_LEAF_PATHS, (paths + LEAVES - 1) / LEAVES);
+        return pool.invoke(new PathTask(model, 0, paths, leafPaths, new SplittableRandom(seed)));
+    }
+
+    // Packed Cholesky-Banachiewicz factor of a row-major n x n matrix, null when it is not positive definite.
+    public static double[] cholesky(int n, double[] matrix) {
+        double[] l = new double[n * (n + 1) / 2];
+
+        for (int i = 0; i < n; i++) {
+            int rowI = i * (i + 1) / 2;
+            for (int j = 0; j <= i; j++) {
+                int rowJ = j * (j + 1) / 2;
+
+                double sum = matrix[i * n + j];
+                for (int k = 0; k < j; k++) {
+                    sum -= l[rowI + k] * l[rowJ + k];
+                }
+
+                if (i == j) {
+                    if (sum <= 0) return null;
+                    l[rowI + i] = Math.sqrt(sum);
+                } else {
+                    l[rowI + j] = sum / l[rowJ + j];
+                }
+            }
+        }
+        return l;
+    }
+
+    private static final class Model {
+
+        final int n;
+        final double[] weights;
+        final double[] cholesky;
+        final int horizons;
+        final double[][] stepDrift;   // [horizon][asset] drift * dt
+        final double[][] stepVol;     // [horizon][asset] vol * sqrt(dt)
+
+        Model(double[] weights, double[] drift, double[] vol, double[] cholesky, double[] horizonDays) {
+            this.n = weights.length;
+            this.weights = weights;
+            this.cholesky = cholesky;
+            this.horizons = horizonDays.length;
+            this.stepDrift = new double[horizons][n];
+            this.stepVol = new double[horizons][n];
+
+            double previous = 0;
+            for (int h = 0; h < horizons; h++) {
+                double dt = horizonDays[h] - previous;
+                for (int i = 0; i < n; i++) {
+                    stepDrift[h][i] = drift[i] * dt;
+                    stepVol[h][i] = vol[i] * Math.sqrt(dt);
+                }
+                previous = horizonDays[h];
+            }
+        }
+    }
+
+    private static final class PathTask extends RecursiveTask<Result> {
+
+        private final Model model;
+        private final int from;
+        private final int to;
+        private final int leafPaths;
+        private final SplittableRandom random;
+
+        PathTask(Model model, int from, int to, int leafPaths, SplittableRandom random) {
+            this.model = model;
+            this.from = from;
+            this.to = to;
+            this.leafPaths = leafPaths;
+            this.random = random;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= leafPaths) return simulate();
+
+            int mid = (from + to) >>> 1;
+            PathTask left = new PathTask(model, from, mid, leafPaths, random.split());
+            PathTask right = new PathTask(model, mid, to, leafPaths, random);
+            left.fork();
+            Result result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private Result simulate() {
+            int n = model.n;
+            int horizons = model.horizons;
+            double[] cholesky = model.cholesky;
+            long[][] histograms = new long[horizons][BINS];
+            double[] sums = new double[horizons];
+
+            double[] logGrowth = new double[n];
+            double[] z = new double[n];
+
+            for (int p = from; p < to; p++) {
+                Arrays.fill(logGrowth, 0);
+
+                for (int h = 0; h < horizons; h++) {
+                    for (int i = 0; i < n; i++) {
+                        z[i] = random.nextGaussian();
+                    }
+
+                    double[] stepDrift = model.stepDrift[h];
+                    double[] stepVol = model.stepVol[h];
+                    double value = 0;
+                    for (int i = 0; i < n; i++) {
+                        double y = z[i];
+                        if (cholesky != null) {
+                            int row = i * (i + 1) / 2;
+                            y = 0;
+                            for (int j = 0; j <= i; j++) {
+                                y += cholesky[row + j] * z[j];
+                            }
+                        }
+                        logGrowth[i] += stepDrift[i] + stepVol[i] * y;
+                        value += model.weights[i] * Math.exp(logGrowth[i]);
+                    }
+
+                    sums[h] += value;
+                    int bin = (int) Math.floor((Math.log(value) + LOG_RANGE) / BIN_WIDTH);
+                    histograms[h][Math.max(0, Math.min(BINS - 1, bin))]++;
+                }
+            }
+            return new Result(histograms, sums, to - from);
+        }
+    }
+}
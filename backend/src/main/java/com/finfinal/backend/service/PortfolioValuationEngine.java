@@ -0,0 +1,217 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.DTO.LivePriceDto;
+import com.finfinal.backend.DTO.PortfolioDiversificationDto;
+import com.finfinal.backend.DTO.PortfolioSummaryDto;
+import com.finfinal.backend.enums.AssetCategory;
+import com.finfinal.backend.model.Asset;
+import com.finfinal.backend.model.Holding;
+import com.finfinal.backend.repository.HoldingRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the portfolio valued tick by tick instead of recomputing it per request.
+ *
+ * Each open holding has a slot in parallel arrays: quantity, latest price, reference price
+ * (the last daily close) and a 30-day projection factor. A price tick for a held asset
+ * changes its slot's price and adds the value delta to the totals and to its category
+ * bucket, O(1) per tick. After every batch of ticks an immutable Snapshot with a new
+ * version is published; readers take the current one without locking.
+ *
+ * The slots are rebuilt when holdings change (after the transaction commits) and after
+ * the daily close moves the reference prices; closes and returns come from ReturnStatsIndex. Totals are re-summed
+ * from the slots every RESUM_EVERY batches so rounding drift stays bounded.
+ */
+@Service
+public class PortfolioValuationEngine {
+
+    // the projection uses the average of the last 30 closes' daily returns
+    private static final int RETURNS = 29;
+    private static final int RESUM_EVERY = 4096;
+    private static final AssetCategory[] CATEGORIES = AssetCategory.values();
+
+    public static final class Snapshot {
+
+        private final long version;
+        private final PortfolioSummaryDto summary;
+        private final List<PortfolioDiversificationDto> diversification;
+
+        private Snapshot(long version, PortfolioSummaryDto summary, List<PortfolioDiversificationDto> diversification) {
+            this.version = version;
+            this.summary = summary;
+            this.diversification = diversification;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public PortfolioSummaryDto getSummary() {
+            return summary;
+        }
+
+        public List<PortfolioDiversificationDto> getDiversification() {
+            return diversification;
+        }
+    }
+
+    private final HoldingRepository holdingRepository;
+    private final ReturnStatsIndex returnStats;
+    private final LivePriceBoard liveBoard;
+
+    // slots, guarded by this
+    private final Map<Long, Integer> slotByAsset = new HashMap<>();
+    private int[] quantity = new int[0];
+    private double[] price = new double[0];
+    private double[] reference = new double[0];
+    private double[] growth = new double[0];
+    private byte[] category = new byte[0];
+    private boolean[] categoryHeld = new boolean[CATEGORIES.length];
+
+    // totals, guarded by this
+    private double totalValue;
+    private double referenceValue;
+    private double projectedValue;
+    private final double[] categoryValue = new double[CATEGORIES.length];
+    private long version;
+    private int batchesSinceResum;
+
+    private volatile Snapshot current = new Snapshot(0, new PortfolioSummaryDto(), List.of());
+
+    public PortfolioValuationEngine(HoldingRepository holdingRepository,
+                                    ReturnStatsIndex returnStats,
+                                    LivePriceBoard liveBoard) {
+        this.holdingRepository = holdingRepository;
+        this.returnStats = returnStats;
+        this.liveBoard = liveBoard;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public Snapshot current() {
+        return current;
+    }
+
+    // Reloads holdings (one query); reference prices and projection factors come from the return index.
+    public synchronized void rebuild() {
+        List<Holding> holdings = holdingRepository.findOpenWithAsset();
+        LivePriceBoard.Board board = liveBoard.current();
+
+        int n = holdings.size();
+        slotByAsset.clear();
+        quantity = new int[n];
+        price = new double[n];
+        reference = new double[n];
+        growth = new double[n];
+        category = new byte[n];
+        categoryHeld = new boolean[CATEGORIES.length];
+
+        for (int i = 0; i < n; i++) {
+            Holding holding = holdings.get(i);
+            Asset asset = holding.getAsset();
+            LivePriceDto live = board.get(asset.getId());
+            double lastClose = returnStats.lastClose(asset.getId());
+
+            slotByAsset.put(asset.getId(), i);
+            quantity[i] = holding.getQuantity();
+            price[i] = live != null ? live.getPrice() : asset.getCurrentPrice();
+            reference[i] = Double.isNaN(lastClose) ? price[i] : lastClose;
+            growth[i] = 1 + returnStats.meanReturn(asset.getId(), RETURNS) * 30;
+            category[i] = (byte) asset.getCategory().ordinal();
+            categoryHeld[category[i]] = true;
+        }
+
+        resum();
+        publish();
+    }
+
+    // Rebuilds once the caller's transaction has committed, or right away outside one.
+    public void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuild();
+            }
+        });
+    }
+
+    // Applies the first count prices of a tick, assets that are not held are skipped.
+    public synchronized void onPrices(long[] ids, double[] prices, int count) {
+        if (slotByAsset.isEmpty()) return;
+
+        boolean moved = false;
+        for (int i = 0; i < count; i++) {
+            Integer slot = slotByAsset.get(ids[i]);
+            if (slot == null) continue;
+
+            int s = slot;
+            double delta = (prices[i] - price[s]) * quantity[s];
+            price[s] = prices[i];
+
+            totalValue += delta;
+            projectedValue += delta * growth[s];
+            categoryValue[category[s]] += delta;
+            moved = true;
+        }
+        if (!moved) return;
+
+        if (++batchesSinceResum >= RESUM_EVERY) resum();
+        publish();
+    }
+
+    private void resum() {
+        totalValue = 0;
+        referenceValue = 0;
+        projectedValue = 0;
+        Arrays.fill(categoryValue, 0);
+
+        for (int s = 0; s < quantity.length; s++) {
+            double value = price[s] * quantity[s];
+            totalValue += value;
+            referenceValue += reference[s] * quantity[s];
+            projectedValue += value * growth[s];
+            categoryValue[category[s]] += value;
+        }
+        batchesSinceResum = 0;
+    }
+
+    private void publish() {
+        double oneDayReturnValue = totalValue - referenceValue;
+
+        PortfolioSummaryDto summary = new PortfolioSummaryDto();
+        summary.setTotalPortfolioValue(round(totalValue));
+        summary.setOneDayReturnValue(round(oneDayReturnValue));
+        summary.setOneDayReturn(round(totalValue == 0 ? 0 : (oneDayReturnValue / totalValue) * 100));
+        summary.setProjectedValue(round(projectedValue));
+
+        List<PortfolioDiversificationDto> diversification = new ArrayList<>();
+        for (AssetCategory c : CATEGORIES) {
+            if (categoryHeld[c.ordinal()]) {
+                diversification.add(new PortfolioDiversificationDto(c.name(), round(categoryValue[c.ordinal()])));
+            }
+        }
+
+        current = new Snapshot(++version, summary, Collections.unmodifiableList(diversification));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
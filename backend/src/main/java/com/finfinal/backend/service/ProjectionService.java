@@ -1,71 +1,191 @@
 package com.finfinal.backend.service;
 
 import com.finfinal.backend.DTO.PortfolioProjectionDto;
+import com.finfinal.backend.exception.BadRequestException;
 import com.finfinal.backend.model.Asset;
-import com.finfinal.backend.model.PriceHistory;
 import com.finfinal.backend.repository.AssetRepository;
-import com.finfinal.backend.repository.PriceHistoryRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-
+import java.util.SplittableRandom;
+
+/**
+ * Portfolio projections as Monte Carlo percentile bands.
+ *
+ * Each held asset is a GBM whose daily drift and volatility are the mean and standard
+ * deviation of its log returns over the last history-days closes (ReturnStatsIndex).
+ * Assets are correlated through the sample correlation of their recent simple returns.
+ */
 @Service
 public class ProjectionService {
 
+    private static final int TRADING_DAYS = 252;
+    private static final double MAX_YEARS = 50;
+    private static final int MAX_HORIZONS = 12;
+
     private final AssetRepository assetRepository;
-    private final PriceHistoryRepository priceHistoryRepository;
+    private final ReturnStatsIndex returnStats;
+    private final MonteCarloEngine monteCarlo;
+    private final SplittableRandom seeds = new SplittableRandom();
+
+    @Value("${projection.paths:10000}")
+    private int defaultPaths;
+
+    @Value("${projection.history-days:252}")
+    private int historyDays;
+
+    // ceiling for ?paths=, one request costs paths x horizons x assets^2 work
+    @Value("${projection.max-paths:100000}")
+    private int maxPaths;
 
     public ProjectionService(AssetRepository assetRepository,
-                             PriceHistoryRepository priceHistoryRepository) {
+                             ReturnStatsIndex returnStats,
+                             MonteCarloEngine monteCarlo) {
         this.assetRepository = assetRepository;
-        this.priceHistoryRepository = priceHistoryRepository;
+        this.returnStats = returnStats;
+        this.monteCarlo = monteCarlo;
     }
 
     public PortfolioProjectionDto project(int years) {
+        return project(new double[]{years}, Math.min(defaultPaths, maxPaths)).get(0);
+    }
 
-        List<Asset> assets = assetRepository.findAll();
+    // One band per distinct horizon (in years), in ascending order
+    public List<PortfolioProjectionDto> project(double[] years, int paths) {
 
-        double totalCurrentValue = 0.0;
-        double totalProjectedValue = 0.0;
+        if (years == null || years.length == 0) {
+            throw new BadRequestException("At least one horizon in years is required");
+        }
+        if (years.length > MAX_HORIZONS) {
+            throw new BadRequestException("At most " + MAX_HORIZONS + " horizons per projection");
+        }
+        for (double y : years) {
+            if (!Double.isFinite(y) || y <= 0 || y > MAX_YEARS) {
+                throw new BadRequestException("Horizons must be between 0 and " + (int) MAX_YEARS + " years, was " + y);
+            }
+        }
+        if (paths < 1 || paths > maxPaths) {
+            throw new BadRequestException("paths must be between 1 and " + maxPaths + ", was " + paths);
+        }
 
-        for (Asset asset : assets) {
+        double[] horizons = Arrays.stream(years).sorted().distinct().toArray();
+
+        List<Asset> held = new ArrayList<>();
+        for (Asset asset : assetRepository.findAll()) {
+            if (asset.getQuantity() > 0 && asset.getCurrentPrice() > 0) held.add(asset);
+        }
 
-            double assetCurrentValue =
-                    asset.getCurrentPrice() * asset.getQuantity();
+        int n = held.size();
+        double totalCurrentValue = 0.0;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = held.get(i).getCurrentPrice() * held.get(i).getQuantity();
+            totalCurrentValue += values[i];
+        }
 
-            totalCurrentValue += assetCurrentValue;
+        List<PortfolioProjectionDto> bands = new ArrayList<>(horizons.length);
+        if (n == 0) {
+            for (double h : horizons) bands.add(new PortfolioProjectionDto(h, 0, 0, 0, 0, 0, 0));
+            return bands;
+        }
 
-            List<PriceHistory> last30 =
-                    priceHistoryRepository.findTop30ByAssetIdOrderByDateDesc(asset.getId());
+        double[] weights = new double[n];
+        double[] drift = new double[n];
+        double[] vol = new double[n];
+        for (int i = 0; i < n; i++) {
+            long id = held.get(i).getId();
+            weights[i] = values[i] / totalCurrentValue;
+            drift[i] = returnStats.meanLogReturn(id, historyDays);
+            vol[i] = returnStats.logVolatility(id, historyDays);
+        }
 
-            if (last30.size() < 2) {
-                totalProjectedValue += assetCurrentValue;
-                continue;
-            }
+        double[] horizonDays = new double[horizons.length];
+        for (int h = 0; h < horizons.length; h++) {
+            horizonDays[h] = horizons[h] * TRADING_DAYS;
+        }
 
-            double cumulativeDailyReturn = 0.0;
+        long start = System.nanoTime();
+        MonteCarloEngine.Result result = monteCarlo.simulate(
+                weights, drift, vol, correlationFactor(held), horizonDays, paths, seeds.nextLong());
+        System.out.println("PROJECTION: " + n + " assets, " + paths + " paths, " + horizons.length
+                + " horizons in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        for (int h = 0; h < horizons.length; h++) {
+            bands.add(new PortfolioProjectionDto(
+                    horizons[h],
+                    round(totalCurrentValue),
+                    round(totalCurrentValue * result.quantile(h, 0.05)),
+                    round(totalCurrentValue * result.quantile(h, 0.50)),
+                    round(totalCurrentValue * result.quantile(h, 0.95)),
+                    round(totalCurrentValue * result.mean(h)),
+                    result.getPaths()
+            ));
+        }
+        return bands;
+    }
 
-            for (int i = 0; i < last30.size() - 1; i++) {
-                double today = last30.get(i).getPrice();
-                double prev = last30.get(i + 1).getPrice();
-                cumulativeDailyReturn += (today - prev) / prev;
+    /**
+     * Cholesky factor of the assets' return correlation over their common recent window.
+     * Null (independent assets) when there is too little history or the sample matrix is
+     * not positive definite even after shrinking it towards the identity.
+     */
+    private double[] correlationFactor(List<Asset> assets) {
+        int n = assets.size();
+        int length = historyDays;
+        for (Asset asset : assets) {
+            length = Math.min(length, returnStats.returnCount(asset.getId()));
+        }
+        if (n < 2 || length < 3) return null;
+
+        // standardised returns, so the correlation is a dot product
+        double[][] returns = new double[n][length];
+        for (int i = 0; i < n; i++) {
+            double[] r = returns[i];
+            returnStats.copyReturns(assets.get(i).getId(), length, r);
+
+            double mean = 0;
+            for (double v : r) mean += v;
+            mean /= length;
+            double ss = 0;
+            for (int k = 0; k < length; k++) {
+                r[k] -= mean;
+                ss += r[k] * r[k];
             }
+            double norm = ss == 0 ? 0 : 1 / Math.sqrt(ss);
+            for (int k = 0; k < length; k++) r[k] *= norm;
+        }
 
-            double avgDailyReturn =
-                    cumulativeDailyReturn / (last30.size() - 1);
-
-            double projectedAssetValue =
-                    assetCurrentValue *
-                            Math.pow(1 + avgDailyReturn, years * 252);
+        double[] correlation = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            correlation[i * n + i] = 1;
+            for (int j = 0; j < i; j++) {
+                double dot = 0;
+                for (int k = 0; k < length; k++) dot += returns[i][k] * returns[j][k];
+                correlation[i * n + j] = dot;
+                correlation[j * n + i] = dot;
+            }
+        }
 
-            totalProjectedValue += projectedAssetValue;
+        for (double shrink = 0; shrink <= 0.5; shrink += 0.1) {
+            double[] factor = MonteCarloEngine.cholesky(n, shrunk(correlation, n, shrink));
+            if (factor != null) return factor;
         }
+        return null;
+    }
 
-        return new PortfolioProjectionDto(
-                years,
-                round(totalCurrentValue),
-                round(totalProjectedValue)
-        );
+    private static double[] shrunk(double[] correlation, int n, double shrink) {
+        if (shrink == 0) return correlation;
+        double[] result = new double[n * n];
+        for (int i = 0; i < n * n; i++) {
+            result[i] = correlation[i] * (1 - shrink);
+        }
+        for (int i = 0; i < n; i++) {
+            result[i * n + i] = 1;
+        }
+        return result;
     }
 
     private double round(double v) {
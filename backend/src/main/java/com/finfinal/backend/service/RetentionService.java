@@ -0,0 +1,126 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.config.RetentionConfig;
+import com.finfinal.backend.repository.RetentionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes expired rows table by table in small id-range chunks instead of one
+ * delete-everything transaction. Each chunk is its own short statement (or, when the
+ * policy archives, its own copy + delete transaction), with a pause between chunks,
+ * so row locks are held briefly and other writers interleave.
+ *
+ * Raw intraday_prices rows are never deleted past the chunk watermark: anything not yet
+ * compressed into intraday_chunks stays until compaction has caught up.
+ */
+@Service
+public class RetentionService {
+
+    private static final String INTRADAY_PRICES = "intraday_prices";
+
+    // progress is printed every this many chunks
+    private static final int REPORT_EVERY = 20;
+
+    private final RetentionConfig config;
+    private final RetentionRepository repository;
+    private final IntradayChunkService chunkService;
+    private final TransactionTemplate transactionTemplate;
+    private final MarketClock marketClock;
+
+    public RetentionService(RetentionConfig config,
+                            RetentionRepository repository,
+                            IntradayChunkService chunkService,
+                            TransactionTemplate transactionTemplate,
+                            MarketClock marketClock) {
+        this.config = config;
+        this.repository = repository;
+        this.chunkService = chunkService;
+        this.transactionTemplate = transactionTemplate;
+        this.marketClock = marketClock;
+    }
+
+    public synchronized void runAll() {
+        for (RetentionConfig.Policy policy : config.getTables()) {
+            try {
+                run(policy);
+            } catch (RuntimeException e) {
+                System.out.println("RETENTION FAILED: " + policy.getTable() + " - " + e.getMessage());
+            }
+        }
+    }
+
+    // Returns the number of rows removed
+    public synchronized long purge(String table) {
+        for (RetentionConfig.Policy policy : config.getTables()) {
+            if (policy.getTable().equals(table)) return run(policy);
+        }
+        return 0;
+    }
+
+    private long run(RetentionConfig.Policy policy) {
+        if (policy.getRetainDays() <= 0) return 0;
+
+        LocalDateTime cutoff = marketClock.now().minusDays(policy.getRetainDays());
+        if (INTRADAY_PRICES.equals(policy.getTable())) {
+            LocalDateTime compactedUntil = chunkService.getCompactedUntil();
+            if (compactedUntil == null) return 0;
+            if (compactedUntil.isBefore(cutoff)) cutoff = compactedUntil;
+        }
+
+        String table = policy.getTable();
+        String column = policy.getTimeColumn();
+        String archive = policy.getArchiveTable();
+        if (archive != null) repository.createArchiveTable(table, archive);
+
+        long begin = System.nanoTime();
+        long rows = 0;
+        int chunks = 0;
+        long afterId = 0;
+
+        while (true) {
+            Long lastId = repository.findChunkEnd(table, column, cutoff, afterId, config.getChunkRows());
+            if (lastId == null) break;
+
+            rows += archive == null
+                    ? repository.deleteChunk(table, column, cutoff, afterId, lastId)
+                    : archiveChunk(table, archive, column, cutoff, afterId, lastId);
+            chunks++;
+            afterId = lastId;
+
+            if (chunks % REPORT_EVERY == 0) {
+                System.out.println("RETENTION PROGRESS: " + table + " - " + rows + " rows in " + chunks + " chunks, "
+                        + (System.nanoTime() - begin) / 1_000_000 + " ms");
+            }
+            if (!pause()) break;
+        }
+
+        System.out.println("RETENTION DONE: " + table + " - " + rows + " rows older than " + cutoff
+                + (archive != null ? " archived to " + archive : " deleted") + " in " + chunks + " chunks, "
+                + (System.nanoTime() - begin) / 1_000_000 + " ms");
+        return rows;
+    }
+
+    private int archiveChunk(String table, String archive, String column, LocalDateTime cutoff,
+                             long afterId, long lastId) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            repository.copyChunk(table, archive, column, cutoff, afterId, lastId);
+            return repository.deleteChunk(table, column, cutoff, afterId, lastId);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    // false when interrupted, the run stops and the next one picks up where it left off
+    private boolean pause() {
+        if (config.getPauseMillis() <= 0) return true;
+        try {
+            Thread.sleep(config.getPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.finfinal.backend.service;
+
+import com.finfinal.backend.repository.PriceHistoryBatchRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-asset prefix sums over daily closes, so return statistics for any trailing window
+ * cost a handful of array reads instead of a history query.
+ *
+ * For each asset the index keeps its last closes in date order and, per close i, the
+ * running sums of simple returns, their squares, log returns and their squares up to i.
+ * A window of w returns ending at the last close is the difference of two prefix entries.
+ * Windows are counted in returns: 29 returns span 30 closes.
+ *
+ * Appending a close writes one slot past the current end and publishes a new entry that
+ * shares the arrays, so readers of the previous entry are never disturbed. Each asset
+ * keeps at most capacity closes; when full, the newest half is copied into fresh arrays.
+ */
+@Component
+public class ReturnStatsIndex {
+
+    private static final class Entry {
+
+        final double[] closes;
+        final double[] sumSimple;
+        final double[] sumSimpleSq;
+        final double[] sumLog;
+        final double[] sumLogSq;
+        final int size;
+        final long lastDay;
+
+        Entry(double[] closes, double[] sumSimple, double[] sumSimpleSq, double[] sumLog, double[] sumLogSq,
+              int size, long lastDay) {
+            this.closes = closes;
+            this.sumSimple = sumSimple;
+            this.sumSimpleSq = sumSimpleSq;
+            this.sumLog = sumLog;
+            this.sumLogSq = sumLogSq;
+            this.size = size;
+            this.lastDay = lastDay;
+        }
+
+        static Entry first(int capacity, double close, long day) {
+            double[] closes = new double[capacity];
+            closes[0] = close;
+            return new Entry(closes, new double[capacity], new double[capacity], new double[capacity],
+                    new double[capacity], 1, day);
+        }
+
+        // Adds a close after the last one; the arrays are only written past size
+        Entry append(double close, long day) {
+            Entry base = size == closes.length ? compact() : this;
+            int i = base.size;
+            double prev = base.closes[i - 1];
+            double simple = prev == 0 ? 0 : close / prev - 1;
+            double log = prev <= 0 || close <= 0 ? 0 : Math.log(close / prev);
+
+            base.closes[i] = close;
+            base.sumSimple[i] = base.sumSimple[i - 1] + simple;
+            base.sumSimpleSq[i] = base.sumSimpleSq[i - 1] + simple * simple;
+            base.sumLog[i] = base.sumLog[i - 1] + log;
+            base.sumLogSq[i] = base.sumLogSq[i - 1] + log * log;
+            return new Entry(base.closes, base.sumSimple, base.sumSimpleSq, base.sumLog, base.sumLogSq, i + 1, day);
+        }
+
+        // Keeps the newest half in fresh arrays, prefix sums stay valid as differences
+        private Entry compact() {
+            int keep = closes.length / 2;
+            int from = size - keep;
+            int capacity = closes.length;
+            return new Entry(
+                    copy(closes, from, keep, capacity), copy(sumSimple, from, keep, capacity),
+                    copy(sumSimpleSq, from, keep, capacity), copy(sumLog, from, keep, capacity),
+                    copy(sumLogSq, from, keep, capacity), keep, lastDay);
+        }
+
+        private static double[] copy(double[] source, int from, int length, int capacity) {
+            double[] target = new double[capacity];
+            System.arraycopy(source, from, target, 0, length);
+            return target;
+        }
+
+        int returns(int window) {
+            return Math.max(0, Math.min(window, size - 1));
+        }
+    }
+
+    private final PriceHistoryBatchRepository historyRepo;
+
+    @Value("${history.stats-capacity:512}")
+    private int capacity;
+
+    private volatile Map<Long, Entry> entries = Map.of();
+
+    public ReturnStatsIndex(PriceHistoryBatchRepository historyRepo) {
+        this.historyRepo = historyRepo;
+    }
+
+    @PostConstruct
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        Map<Long, Entry> loaded = new HashMap<>();
+        historyRepo.forEachRecentClose(capacity, (assetId, epochDay, close) -> {
+            Entry entry = loaded.get(assetId);
+            loaded.put(assetId, entry == null ? Entry.first(capacity, close, epochDay) : entry.append(close, epochDay));
+        });
+        entries = loaded;
+
+        System.out.println("RETURN STATS LOADED: " + loaded.size() + " assets in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Records one day's closes. Days after an asset's last close are appended; anything
+     * else (a re-run or an older day) means the stored series changed, so the index reloads.
+     */
+    public synchronized void onDayClosed(long[] ids, double[] closes, int count, LocalDate date) {
+        long day = date.toEpochDay();
+        Map<Long, Entry> next = new HashMap<>(entries);
+
+        for (int i = 0; i < count; i++) {
+            Entry entry = next.get(ids[i]);
+            if (entry == null) {
+                next.put(ids[i], Entry.first(capacity, closes[i], day));
+            } else if (day > entry.lastDay) {
+                next.put(ids[i], entry.append(closes[i], day));
+            } else {
+                reload();
+                return;
+            }
+        }
+        entries = next;
+    }
+
+    // Widest window every asset with enough history can serve: a compacted entry keeps capacity / 2 returns
+    public int maxWindow() {
+        return capacity / 2;
+    }
+
+    public int returnCount(long assetId) {
+        Entry entry = entries.get(assetId);
+        return entry == null ? 0 : entry.size - 1;
+    }
+
+    // Date of the asset's last close, null without any
+    public LocalDate lastDay(long assetId) {
+        Entry entry = entries.get(assetId);
+        return entry == null ? null : LocalDate.ofEpochDay(entry.lastDay);
+    }
+
+    // NaN when the asset has no close
+    public double lastClose(long assetId) {
+        Entry entry = entries.get(assetId);
+        return entry == null ? Double.NaN : entry.closes[entry.size - 1];
+    }
+
+    // Mean simple daily return over the last window returns, 0 without any
+    public double meanReturn(long assetId, int window) {
+        Entry entry = entries.get(assetId);
+        if (entry == null) return 0;
+        int w = entry.returns(window);
+        if (w == 0) return 0;
+        int end = entry.size - 1;
+        return (entry.sumSimple[end] - entry.sumSimple[end - w]) / w;
+    }
+
+    // Sample standard deviation of simple daily returns over the window, 0 with fewer than two
+    public double volatility(long assetId, int window) {
+        Entry entry = entries.get(assetId);
+        if (entry == null) return 0;
+        int w = entry.returns(window);
+        int end = entry.size - 1;
+        return w < 2 ? 0 : std(entry.sumSimple[end] - entry.sumSimple[end - w],
+                entry.sumSimpleSq[end] - entry.sumSimpleSq[end - w], w);
+    }
+
+    public double meanLogReturn(long assetId, int window) {
+        Entry entry = entries.get(assetId);
+        if (entry == null) return 0;
+        int w = entry.returns(window);
+        if (w == 0) return 0;
+        int end = entry.size - 1;
+        return (entry.sumLog[end] - entry.sumLog[end - w]) / w;
+    }
+
+    public double logVolatility(long assetId, int window) {
+        Entry entry = entries.get(assetId);
+        if (entry == null) return 0;
+        int w = entry.returns(window);
+        int end = entry.size - 1;
+        return w < 2 ? 0 : std(entry.sumLog[end] - entry.sumLog[end - w],
+                entry.sumLogSq[end] - entry.sumLogSq[end - w], w);
+    }
+
+    // Compounded return over the window, last close against the close w returns earlier
+    public double totalReturn(long assetId, int window) {
+        Entry entry = entries.get(assetId);
+        if (entry == null) return 0;
+        int w = entry.returns(window);
+        int end = entry.size - 1;
+        double base = entry.closes[end - w];
+        return base == 0 ? 0 : entry.closes[end] / base - 1;
+    }
+
+    // Copies the last window simple returns, oldest first, into out; returns how many were written
+    public int copyReturns(long assetId, int window, double[] out) {
+        Entry entry = entries.get(assetId);
+        if (entry == null) return 0;
+        int w = Math.min(entry.returns(window), out.length);
+        int end = entry.size - 1;
+        for (int k = 0; k < w; k++) {
+            int i = end - w + 1 + k;
+            out[k] = entry.sumSimple[i] - entry.sumSimple[i - 1];
+        }
+        return w;
+    }
+
+    private static double std(double sum, double sumSq, int n) {
+        double variance = (sumSq - sum * sum / n) / (n - 1);
+        return variance <= 0 ? 0 : Math.sqrt(variance);
+    }
+
+}
@@ -22,13 +22,19 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final AssetRepository assetRepository;
     private final HoldingRepository holdingRepository;
+    private final PortfolioValuationEngine valuationEngine;
+    private final MarketRiskEngine riskEngine;
 
     public TransactionService(TransactionRepository transactionRepository,
                               AssetRepository assetRepository,
-                              HoldingRepository holdingRepository) {
+                              HoldingRepository holdingRepository,
+                              PortfolioValuationEngine valuationEngine,
+                              MarketRiskEngine riskEngine) {
         this.transactionRepository = transactionRepository;
         this.assetRepository = assetRepository;
         this.holdingRepository = holdingRepository;
+        this.valuationEngine = valuationEngine;
+        this.riskEngine = riskEngine;
     }
 
     // ✅ NEW: Fetch all transactions for the History Page
@@ -78,7 +84,10 @@ public class TransactionService {
         tx.setQuantity(dto.getQuantity());
         tx.setTimestamp(LocalDateTime.now());
 
-        return transactionRepository.save(tx);
+        Transaction saved = transactionRepository.save(tx);
+        valuationEngine.rebuildAfterCommit();
+        riskEngine.rebuildAfterCommit();
+        return saved;
     }
 
     private void handleBuy(Asset asset, Holding holding, TransactionDto dto) {
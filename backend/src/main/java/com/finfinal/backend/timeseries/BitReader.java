@@ -0,0 +1,36 @@
+package com.finfinal.backend.timeseries;
+
+// Reads bit fields written by BitWriter.
+final class BitReader {
+
+    private final byte[] buffer;
+    private final int offset;
+    private long position;
+
+    BitReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    // Reads `bits` bits, 0 < bits <= 64, as an unsigned value.
+    long readBits(int bits) {
+        long value = 0;
+        for (int remaining = bits; remaining > 0; ) {
+            int byteIndex = offset + (int) (position >>> 3);
+            int available = 8 - (int) (position & 7);
+            int take = Math.min(available, remaining);
+
+            int current = buffer[byteIndex] & 0xFF;
+            int chunk = (current >>> (available - take)) & ((1 << take) - 1);
+            value = (value << take) | chunk;
+
+            remaining -= take;
+            position += take;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,49 @@
+package com.finfinal.backend.timeseries;
+
+import java.util.Arrays;
+
+// Appends bit fields MSB-first into a growable byte array.
+final class BitWriter {
+
+    private byte[] buffer;
+    private long bitCount;
+
+    BitWriter(int initialBytes) {
+        buffer = new byte[Math.max(16, initialBytes)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    // Writes the low `bits` bits of value, 0 < bits <= 64.
+    void writeBits(long value, int bits) {
+        ensureCapacity(bits);
+        for (int remaining = bits; remaining > 0; ) {
+            int byteIndex = (int) (bitCount >>> 3);
+            int free = 8 - (int) (bitCount & 7);
+            int take = Math.min(free, remaining);
+
+            int chunk = (int) (value >>> (remaining - take)) & ((1 << take) - 1);
+            buffer[byteIndex] |= (byte) (chunk << (free - take));
+
+            remaining -= take;
+            bitCount += take;
+        }
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, (int) ((bitCount + 7) >>> 3));
+    }
+
+    private void ensureCapacity(int bits) {
+        long needed = (bitCount + bits + 7) >>> 3;
+        if (needed > buffer.length) {
+            buffer = Arrays.copyOf(buffer, (int) Math.max(needed, buffer.length * 2L));
+        }
+    }
+}
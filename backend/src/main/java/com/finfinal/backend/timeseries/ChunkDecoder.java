@@ -0,0 +1,88 @@
+package com.finfinal.backend.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Iterates the points of a chunk written by ChunkEncoder, in time order.
+ *
+ * while (decoder.next()) { decoder.time(); decoder.value(); }
+ */
+public final class ChunkDecoder {
+
+    private final BitReader bits;
+    private final int count;
+
+    private int index;
+    private long time;
+    private long delta;
+    private long valueBits;
+    private int leading;
+    private int trailing;
+
+    public ChunkDecoder(byte[] chunk) {
+        ByteBuffer header = ByteBuffer.wrap(chunk);
+        this.time = header.getLong();
+        this.count = header.getInt();
+        this.bits = new BitReader(chunk, ChunkEncoder.HEADER_BYTES);
+    }
+
+    // Value of the last point in [fromSecond, toSecond), NaN when there is none
+    public static double lastValue(byte[] chunk, long fromSecond, long toSecond) {
+        ChunkDecoder decoder = new ChunkDecoder(chunk);
+        double last = Double.NaN;
+        while (decoder.next()) {
+            long time = decoder.time();
+            if (time >= toSecond) break;
+            if (time >= fromSecond) last = decoder.value();
+        }
+        return last;
+    }
+
+    public boolean next() {
+        if (index >= count) return false;
+
+        if (index == 0) {
+            valueBits = bits.readBits(64);
+        } else {
+            delta += readDeltaOfDelta();
+            time += delta;
+            valueBits ^= readXor();
+        }
+        index++;
+        return true;
+    }
+
+    // Epoch second of the current point
+    public long time() {
+        return time;
+    }
+
+    public double value() {
+        return Double.longBitsToDouble(valueBits);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    private long readDeltaOfDelta() {
+        if (!bits.readBit()) return 0;
+        if (!bits.readBit()) return bits.readBits(7) - 63;
+        if (!bits.readBit()) return bits.readBits(9) - 255;
+        if (!bits.readBit()) return bits.readBits(12) - 2047;
+        return (int) bits.readBits(32);
+    }
+
+    private long readXor() {
+        if (!bits.readBit()) return 0;
+
+        if (bits.readBit()) {
+            leading = (int) bits.readBits(5);
+            int length = (int) bits.readBits(6);
+            if (length == 0) length = 64;
+            trailing = 64 - leading - length;
+        }
+        int length = 64 - leading - trailing;
+        return bits.readBits(length) << trailing;
+    }
+}
@@ -0,0 +1,125 @@
+package com.finfinal.backend.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Gorilla-style compression of one asset's (time, price) series.
+ *
+ * Layout: long first epoch second | int point count | bit stream.
+ * The bit stream starts with the first value as raw 64 bits. Every later point is a
+ * delta-of-delta timestamp followed by the value XORed with the previous value:
+ *
+ *   timestamp dod   0 -> '0', [-63,64] -> '10'+7 bits, [-255,256] -> '110'+9 bits,
+ *                   [-2047,2048] -> '1110'+12 bits, otherwise '1111'+32 bits
+ *   value xor       0 -> '0', fits the previous leading/trailing window -> '10'+window bits,
+ *                   otherwise '11'+5 bits leading zeros+6 bits length+meaningful bits
+ *
+ * A regular 10 s series costs one bit per timestamp; the value bits depend on how many
+ * mantissa bits change between consecutive prices.
+ */
+public final class ChunkEncoder {
+
+    public static final int HEADER_BYTES = 12;
+
+    private final BitWriter bits;
+
+    private long firstTime;
+    private long lastTime;
+    private long lastDelta;
+    private long lastValueBits;
+    private int leading = -1;
+    private int trailing;
+    private int count;
+
+    public ChunkEncoder(int expectedPoints) {
+        this.bits = new BitWriter(expectedPoints * 8);
+    }
+
+    // Times must not go backwards within a chunk.
+    public void add(long epochSecond, double value) {
+        long valueBits = Double.doubleToRawLongBits(value);
+
+        if (count == 0) {
+            firstTime = epochSecond;
+            bits.writeBits(valueBits, 64);
+        } else {
+            long delta = epochSecond - lastTime;
+            if (delta < 0) {
+                throw new IllegalArgumentException("Timestamp " + epochSecond + " is before " + lastTime);
+            }
+            writeDeltaOfDelta(delta - lastDelta);
+            writeXor(valueBits ^ lastValueBits);
+            lastDelta = delta;
+        }
+
+        lastTime = epochSecond;
+        lastValueBits = valueBits;
+        count++;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long getFirstTime() {
+        return firstTime;
+    }
+
+    public long getLastTime() {
+        return lastTime;
+    }
+
+    public byte[] toByteArray() {
+        byte[] stream = bits.toByteArray();
+        return ByteBuffer.allocate(HEADER_BYTES + stream.length)
+                .putLong(firstTime)
+                .putInt(count)
+                .put(stream)
+                .array();
+    }
+
+    private void writeDeltaOfDelta(long dod) {
+        if (dod == 0) {
+            bits.writeBit(false);
+        } else if (dod >= -63 && dod <= 64) {
+            bits.writeBits(0b10, 2);
+            bits.writeBits(dod + 63, 7);
+        } else if (dod >= -255 && dod <= 256) {
+            bits.writeBits(0b110, 3);
+            bits.writeBits(dod + 255, 9);
+        } else if (dod >= -2047 && dod <= 2048) {
+            bits.writeBits(0b1110, 4);
+            bits.writeBits(dod + 2047, 12);
+        } else {
+            if (dod < Integer.MIN_VALUE || dod > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Gap of " + dod + " s does not fit in a chunk");
+            }
+            bits.writeBits(0b1111, 4);
+            bits.writeBits(dod, 32);
+        }
+    }
+
+    private void writeXor(long xor) {
+        if (xor == 0) {
+            bits.writeBit(false);
+            return;
+        }
+        bits.writeBit(true);
+
+        int newLeading = Math.min(31, Long.numberOfLeadingZeros(xor));
+        int newTrailing = Long.numberOfTrailingZeros(xor);
+
+        if (leading >= 0 && newLeading >= leading && newTrailing >= trailing) {
+            bits.writeBit(false);
+            bits.writeBits(xor >>> trailing, 64 - leading - trailing);
+        } else {
+            int length = 64 - newLeading - newTrailing;
+            bits.writeBit(true);
+            bits.writeBits(newLeading, 5);
+            bits.writeBits(length & 63, 6);     // 64 is stored as 0
+            bits.writeBits(xor >>> newTrailing, length);
+            leading = newLeading;
+            trailing = newTrailing;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.finfinal.backend.timeseries;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read side of a one-day intraday archive file, memory-mapped.
+ *
+ * Layout (big-endian, like the chunk header):
+ *   chunk data, one ChunkEncoder chunk per asset
+ *   index, one (long assetId, long offset, int length) entry per asset, sorted by asset id
+ *   footer: long epochDay | long indexOffset | int assetCount | int magic "IDA1"
+ *
+ * A lookup is a binary search over the index followed by one copy of the asset's chunk;
+ * only the pages touched are read from disk. Safe for concurrent readers.
+ */
+public final class DayArchive {
+
+    public static final int MAGIC = 0x49444131; // "IDA1"
+    public static final int INDEX_ENTRY_BYTES = 20;
+    public static final int FOOTER_BYTES = 24;
+
+    private final MappedByteBuffer buffer;
+    private final long epochDay;
+    private final int indexOffset;
+    private final int count;
+
+    private DayArchive(MappedByteBuffer buffer, Path file) {
+        int footer = buffer.limit() - FOOTER_BYTES;
+        if (footer < 0 || buffer.getInt(footer + 20) != MAGIC) {
+            throw new IllegalStateException("Not an intraday archive: " + file);
+        }
+        long index = buffer.getLong(footer + 8);
+        int entries = buffer.getInt(footer + 16);
+        // the index has to end exactly where the footer starts
+        if (index < 0 || entries < 0 || index + (long) entries * INDEX_ENTRY_BYTES != footer) {
+            throw new IllegalStateException("Corrupt intraday archive footer: " + file);
+        }
+        this.buffer = buffer;
+        this.epochDay = buffer.getLong(footer);
+        this.indexOffset = (int) index;
+        this.count = entries;
+    }
+
+    public static DayArchive open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Archive file too large: " + file);
+            }
+            return new DayArchive(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        }
+    }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long assetId(int i) {
+        return buffer.getLong(indexOffset + i * INDEX_ENTRY_BYTES);
+    }
+
+    // Chunk of the i-th asset in id order
+    public byte[] chunk(int i) {
+        return copy(indexOffset + i * INDEX_ENTRY_BYTES);
+    }
+
+    // The asset's chunk for the day, null when it has no points that day
+    public byte[] find(long assetId) {
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int entry = indexOffset + mid * INDEX_ENTRY_BYTES;
+            long id = buffer.getLong(entry);
+            if (id < assetId) {
+                lo = mid + 1;
+            } else if (id > assetId) {
+                hi = mid - 1;
+            } else {
+                return copy(entry);
+            }
+        }
+        return null;
+    }
+
+    private byte[] copy(int entry) {
+        byte[] chunk = new byte[buffer.getInt(entry + 16)];
+        buffer.get((int) buffer.getLong(entry + 8), chunk);
+        return chunk;
+    }
+}
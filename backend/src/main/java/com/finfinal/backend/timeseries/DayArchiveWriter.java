@@ -0,0 +1,110 @@
+package com.finfinal.backend.timeseries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes one day of intraday history as a DayArchive file. Assets must be added in
+ * ascending id order, each with its whole day as one ChunkEncoder chunk.
+ *
+ * Chunks are streamed to a temporary file as they come (fed by a streamed result set) and
+ * the index is appended on finish(), so only the 20-byte index entries stay in memory. The file is only moved into
+ * place once complete, a crash leaves no half-written archive behind.
+ */
+public final class DayArchiveWriter implements AutoCloseable {
+
+    private final Path target;
+    private final Path temp;
+    private final long epochDay;
+    private final FileChannel channel;
+
+    private long[] ids = new long[1024];
+    private long[] offsets = new long[1024];
+    private int[] lengths = new int[1024];
+    private int count;
+    private long position;
+    private boolean finished;
+
+    public DayArchiveWriter(Path target, long epochDay) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.epochDay = epochDay;
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    public void add(long assetId, byte[] chunk) throws IOException {
+        if (count > 0 && assetId <= ids[count - 1]) {
+            throw new IllegalArgumentException("Asset " + assetId + " added after " + ids[count - 1]);
+        }
+        if (count == ids.length) {
+            int grown = ids.length * 2;
+            ids = Arrays.copyOf(ids, grown);
+            offsets = Arrays.copyOf(offsets, grown);
+            lengths = Arrays.copyOf(lengths, grown);
+        }
+
+        ids[count] = assetId;
+        offsets[count] = position;
+        lengths[count] = chunk.length;
+        count++;
+
+        writeFully(ByteBuffer.wrap(chunk));
+        position += chunk.length;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long size() {
+        return position + (long) count * DayArchive.INDEX_ENTRY_BYTES + DayArchive.FOOTER_BYTES;
+    }
+
+    // Appends index and footer and moves the file into place.
+    public void finish() throws IOException {
+        ByteBuffer index = ByteBuffer.allocate(64 * 1024);
+        for (int i = 0; i < count; i++) {
+            if (index.remaining() < DayArchive.INDEX_ENTRY_BYTES) {
+                index.flip();
+                writeFully(index);
+                index.clear();
+            }
+            index.putLong(ids[i]).putLong(offsets[i]).putInt(lengths[i]);
+        }
+        index.flip();
+        writeFully(index);
+
+        ByteBuffer footer = ByteBuffer.allocate(DayArchive.FOOTER_BYTES)
+                .putLong(epochDay)
+                .putLong(position)
+                .putInt(count)
+                .putInt(DayArchive.MAGIC);
+        footer.flip();
+        writeFully(footer);
+
+        channel.force(true);
+        channel.close();
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finished) return;
+        channel.close();
+        Files.deleteIfExists(temp);
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.finfinal.backend.timeseries;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013).
+ *
+ * The first and last points are always kept. The points between them are split into
+ * threshold - 2 buckets, and from each bucket the point that forms the largest triangle
+ * with the previously kept point and the average of the next bucket is kept. Peaks and
+ * troughs survive, which a plain every-nth-point sample would drop.
+ *
+ * Works on the raw columns in one left-to-right sweep and allocates only the result.
+ */
+public final class Downsampler {
+
+    private Downsampler() {
+    }
+
+    /**
+     * Returns the indices of the kept points in ascending order. When count already fits in
+     * threshold every index is returned; a threshold of 1 keeps the first point and 2 the
+     * first and last.
+     */
+    public static int[] lttb(long[] x, double[] y, int count, int threshold) {
+        if (threshold >= count) {
+            int[] all = new int[count];
+            for (int i = 0; i < count; i++) all[i] = i;
+            return all;
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be at least 1, was " + threshold);
+        }
+        if (threshold == 1) return new int[]{0};
+        if (threshold == 2) return new int[]{0, count - 1};
+
+        int[] kept = new int[threshold];
+        int k = 0;
+
+        // x relative to the first point keeps the products well inside double precision
+        long origin = x[0];
+        double every = (double) (count - 2) / (threshold - 2);
+        int a = 0;
+        kept[k++] = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int rangeStart = (int) (bucket * every) + 1;
+            int rangeEnd = (int) ((bucket + 1) * every) + 1;
+
+            // average of the next bucket, the last point stands in for the final one
+            int nextStart = rangeEnd;
+            int nextEnd = Math.min((int) ((bucket + 2) * every) + 1, count);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i] - origin;
+                avgY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            double ax = x[a] - origin;
+            double ay = y[a];
+            double maxArea = -1;
+            int chosen = rangeStart;
+
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                // twice the triangle area, the factor does not change the winner
+                double area = Math.abs((ax - avgX) * (y[i] - ay) - (ax - (x[i] - origin)) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+
+            kept[k++] = chosen;
+            a = chosen;
+        }
+
+        kept[k] = count - 1;
+        return kept;
+    }
+}
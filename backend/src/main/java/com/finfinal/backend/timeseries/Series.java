@@ -0,0 +1,49 @@
+package com.finfinal.backend.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * Growable (time, value) columns for one asset, so a range read lands in two primitive
+ * arrays instead of one object per point. Times are epoch seconds for intraday data and
+ * epoch days for daily history; callers append in time order.
+ */
+public final class Series {
+
+    private long[] times;
+    private double[] values;
+    private int size;
+
+    public Series(int expectedPoints) {
+        int capacity = Math.max(16, expectedPoints);
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    public void add(long time, double value) {
+        if (size == times.length) {
+            int grown = times.length * 2;
+            times = Arrays.copyOf(times, grown);
+            values = Arrays.copyOf(values, grown);
+        }
+        times[size] = time;
+        values[size] = value;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long time(int i) {
+        return times[i];
+    }
+
+    public double value(int i) {
+        return values[i];
+    }
+
+    // Indices of the points to keep, at most maxPoints of them (see Downsampler)
+    public int[] downsample(int maxPoints) {
+        return Downsampler.lttb(times, values, size, maxPoints);
+    }
+}
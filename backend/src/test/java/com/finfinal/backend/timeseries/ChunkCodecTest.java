@@ -0,0 +1,167 @@
+package com.finfinal.backend.timeseries;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkCodecTest {
+
+    private static final long T0 = 1_735_700_000L;
+
+    @Test
+    void bitWriterAndReaderRoundTripEveryWidth() {
+        BitWriter writer = new BitWriter(1);
+        SplittableRandom random = new SplittableRandom(3);
+        long[] values = new long[64];
+        for (int bits = 1; bits <= 64; bits++) {
+            long value = random.nextLong() & (bits == 64 ? -1L : (1L << bits) - 1);
+            values[bits - 1] = value;
+            writer.writeBits(value, bits);
+        }
+        assertEquals(64 * 65 / 2, writer.bitCount());
+
+        BitReader reader = new BitReader(writer.toByteArray(), 0);
+        for (int bits = 1; bits <= 64; bits++) {
+            assertEquals(values[bits - 1], reader.readBits(bits), "width " + bits);
+        }
+    }
+
+    @Test
+    void singlePoint() {
+        ChunkEncoder encoder = new ChunkEncoder(1);
+        encoder.add(T0, 101.25);
+        byte[] chunk = encoder.toByteArray();
+
+        ChunkDecoder decoder = new ChunkDecoder(chunk);
+        assertEquals(1, decoder.count());
+        assertTrue(decoder.next());
+        assertEquals(T0, decoder.time());
+        assertEquals(101.25, decoder.value());
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void deltaOfDeltaBucketBoundaries() {
+        // each dod sits on or just past an edge of the 0 / 7 / 9 / 12 / 32 bit buckets
+        long[] dods = {0, -63, 64, -64, 65, -255, 256, -256, 257, -2047, 2048, -2048, 2049,
+                1_000_000, -1_000_000, Integer.MAX_VALUE / 4, 0, 1, -1};
+
+        // start from a large delta so negative dods still leave time moving forward
+        long delta = 2_000_000;
+        long[] times = new long[dods.length + 2];
+        times[0] = T0;
+        times[1] = T0 + delta;
+        for (int i = 0; i < dods.length; i++) {
+            delta += dods[i];
+            times[i + 2] = times[i + 1] + delta;
+        }
+        assertRoundTrip(times, constantValues(times.length, 50.0));
+    }
+
+    @Test
+    void gapBeyondThirtyTwoBitsIsRejected() {
+        ChunkEncoder encoder = new ChunkEncoder(4);
+        encoder.add(T0, 1);
+        encoder.add(T0 + 10, 1);
+        assertThrows(IllegalArgumentException.class, () -> encoder.add(T0 + 10 + 10 + (1L << 31), 1));
+    }
+
+    @Test
+    void largestThirtyTwoBitGapsRoundTrip() {
+        long[] times = {T0, T0 + 10, T0 + 20 + Integer.MAX_VALUE, T0 + 30 + Integer.MAX_VALUE};
+        assertRoundTrip(times, constantValues(times.length, 1.0));
+    }
+
+    @Test
+    void timeGoingBackwardsIsRejected() {
+        ChunkEncoder encoder = new ChunkEncoder(2);
+        encoder.add(T0, 1);
+        assertThrows(IllegalArgumentException.class, () -> encoder.add(T0 - 1, 1));
+    }
+
+    @Test
+    void identicalValuesCostOneBitEach() {
+        long[] times = regularTimes(1_000, 10);
+        byte[] chunk = assertRoundTrip(times, constantValues(times.length, 123.45));
+
+        // 64 value bits, then a '0' timestamp bit and a '0' value bit per later point
+        int streamBits = 64 + 2 * (times.length - 1) + 9;   // the second point's delta is a '10' + 7 bits dod
+        assertTrue(chunk.length <= ChunkEncoder.HEADER_BYTES + (streamBits + 7) / 8);
+    }
+
+    @Test
+    void specialValuesKeepTheirBits() {
+        double[] values = {Double.NaN, Double.NaN, 1.0, Double.longBitsToDouble(0x7ff8_0000_0000_0001L),
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, -0.0, 0.0, Double.MIN_VALUE, Double.MAX_VALUE, -1.5};
+        assertRoundTrip(regularTimes(values.length, 10), values);
+    }
+
+    @Test
+    void randomWalkRoundTrips() {
+        SplittableRandom random = new SplittableRandom(5);
+        int n = 10_000;
+        long[] times = new long[n];
+        double[] values = new double[n];
+        long time = T0;
+        double price = 250;
+        for (int i = 0; i < n; i++) {
+            time += random.nextInt(10) < 8 ? 10 : random.nextInt(1, 5_000);
+            price = Math.round(price * (1 + random.nextGaussian() * 0.001) * 100) / 100.0;
+            times[i] = time;
+            values[i] = price;
+        }
+        assertRoundTrip(times, values);
+    }
+
+    @Test
+    void lastValueScansTheHalfOpenRange() {
+        long[] times = regularTimes(6, 10);   // T0, T0+10, ..., T0+50
+        double[] values = {1, 2, 3, 4, 5, 6};
+        byte[] chunk = assertRoundTrip(times, values);
+
+        assertEquals(6, ChunkDecoder.lastValue(chunk, T0, T0 + 60));
+        assertEquals(5, ChunkDecoder.lastValue(chunk, T0, T0 + 50));    // end is exclusive
+        assertEquals(3, ChunkDecoder.lastValue(chunk, T0 + 20, T0 + 21));  // start is inclusive
+        assertEquals(1, ChunkDecoder.lastValue(chunk, T0 - 100, T0 + 1));
+        assertTrue(Double.isNaN(ChunkDecoder.lastValue(chunk, T0 + 51, T0 + 100)));
+        assertTrue(Double.isNaN(ChunkDecoder.lastValue(chunk, T0 - 100, T0)));
+        assertTrue(Double.isNaN(ChunkDecoder.lastValue(chunk, T0 + 11, T0 + 19)));
+    }
+
+    private static byte[] assertRoundTrip(long[] times, double[] values) {
+        ChunkEncoder encoder = new ChunkEncoder(times.length);
+        for (int i = 0; i < times.length; i++) {
+            encoder.add(times[i], values[i]);
+        }
+        assertEquals(times[0], encoder.getFirstTime());
+        assertEquals(times[times.length - 1], encoder.getLastTime());
+        byte[] chunk = encoder.toByteArray();
+
+        ChunkDecoder decoder = new ChunkDecoder(chunk);
+        assertEquals(times.length, decoder.count());
+        for (int i = 0; i < times.length; i++) {
+            assertTrue(decoder.next());
+            assertEquals(times[i], decoder.time(), "time " + i);
+            assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(decoder.value()), "value " + i);
+        }
+        assertFalse(decoder.next());
+        return chunk;
+    }
+
+    private static long[] regularTimes(int n, long step) {
+        long[] times = new long[n];
+        for (int i = 0; i < n; i++) times[i] = T0 + i * step;
+        return times;
+    }
+
+    private static double[] constantValues(int n, double value) {
+        double[] values = new double[n];
+        java.util.Arrays.fill(values, value);
+        return values;
+    }
+}
@@ -0,0 +1,161 @@
+package com.finfinal.backend.timeseries;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DayArchiveTest {
+
+    private static final long DAY = 20_100;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void findsEveryAssetByBinarySearch() throws IOException {
+        Path file = dir.resolve("day.ida");
+        long[] ids = new long[3_000];
+        try (DayArchiveWriter writer = new DayArchiveWriter(file, DAY)) {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = 5 + i * 3L;                     // gaps between ids, more than one index buffer
+                writer.add(ids[i], chunk(ids[i], 1 + i % 7));
+            }
+            assertEquals(ids.length, writer.count());
+            writer.finish();
+            assertEquals(Files.size(file), writer.size());
+        }
+
+        DayArchive archive = DayArchive.open(file);
+        assertEquals(DAY, archive.getEpochDay());
+        assertEquals(ids.length, archive.count());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], archive.assetId(i));
+            assertArrayEquals(chunk(ids[i], 1 + i % 7), archive.find(ids[i]));
+            assertArrayEquals(archive.find(ids[i]), archive.chunk(i));
+        }
+        assertNull(archive.find(0));
+        assertNull(archive.find(6));
+        assertNull(archive.find(ids[ids.length - 1] + 1));
+    }
+
+    @Test
+    void emptyDay() throws IOException {
+        Path file = dir.resolve("empty.ida");
+        try (DayArchiveWriter writer = new DayArchiveWriter(file, DAY)) {
+            writer.finish();
+        }
+        DayArchive archive = DayArchive.open(file);
+        assertEquals(0, archive.count());
+        assertNull(archive.find(1));
+    }
+
+    @Test
+    void assetsMustBeAddedInIdOrder() throws IOException {
+        try (DayArchiveWriter writer = new DayArchiveWriter(dir.resolve("order.ida"), DAY)) {
+            writer.add(10, chunk(10, 1));
+            assertThrows(IllegalArgumentException.class, () -> writer.add(10, chunk(10, 1)));
+            assertThrows(IllegalArgumentException.class, () -> writer.add(9, chunk(9, 1)));
+        }
+    }
+
+    @Test
+    void rejectsFilesWithoutAValidFooter() throws IOException {
+        Path file = write(dir.resolve("valid.ida"), 4);
+        byte[] bytes = Files.readAllBytes(file);
+
+        // too short for a footer
+        assertThrows(IllegalStateException.class, () -> DayArchive.open(put(dir.resolve("short.ida"), new byte[10])));
+
+        // wrong magic
+        byte[] badMagic = bytes.clone();
+        badMagic[badMagic.length - 1] ^= 1;
+        assertThrows(IllegalStateException.class, () -> DayArchive.open(put(dir.resolve("magic.ida"), badMagic)));
+
+        // truncated in the middle of the chunk data, footer copied to the new end
+        byte[] truncated = new byte[bytes.length - 5];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length - DayArchive.FOOTER_BYTES);
+        System.arraycopy(bytes, bytes.length - DayArchive.FOOTER_BYTES, truncated,
+                truncated.length - DayArchive.FOOTER_BYTES, DayArchive.FOOTER_BYTES);
+        assertThrows(IllegalStateException.class, () -> DayArchive.open(put(dir.resolve("cut.ida"), truncated)));
+
+        // count that does not match the index size
+        byte[] badCount = bytes.clone();
+        ByteBuffer.wrap(badCount).putInt(badCount.length - 8, 5);
+        assertThrows(IllegalStateException.class, () -> DayArchive.open(put(dir.resolve("count.ida"), badCount)));
+
+        assertEquals(4, DayArchive.open(file).count());
+    }
+
+    @Test
+    void unfinishedWriteLeavesNothingBehind() throws IOException {
+        Path file = dir.resolve("crash.ida");
+        try (DayArchiveWriter writer = new DayArchiveWriter(file, DAY)) {
+            writer.add(1, chunk(1, 3));
+            // no finish(): the archive run failed
+        }
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(dir.resolve("crash.ida.tmp")));
+    }
+
+    @Test
+    void failedRewriteKeepsThePreviousFile() throws IOException {
+        Path file = write(dir.resolve("keep.ida"), 3);
+        byte[] before = Files.readAllBytes(file);
+
+        try (DayArchiveWriter writer = new DayArchiveWriter(file, DAY)) {
+            writer.add(1, chunk(1, 9));
+        }
+        assertArrayEquals(before, Files.readAllBytes(file));
+        assertEquals(3, DayArchive.open(file).count());
+    }
+
+    @Test
+    void leftoverTempFileFromACrashIsOverwritten() throws IOException {
+        Path file = dir.resolve("recover.ida");
+        byte[] garbage = new byte[100_000];
+        Arrays.fill(garbage, (byte) 0x5A);
+        put(dir.resolve("recover.ida.tmp"), garbage);
+
+        write(file, 2);
+
+        assertFalse(Files.exists(dir.resolve("recover.ida.tmp")));
+        DayArchive archive = DayArchive.open(file);
+        assertEquals(2, archive.count());
+        assertArrayEquals(chunk(2, 2), archive.find(2));
+    }
+
+    private static Path write(Path file, int assets) throws IOException {
+        try (DayArchiveWriter writer = new DayArchiveWriter(file, DAY)) {
+            for (long id = 1; id <= assets; id++) {
+                writer.add(id, chunk(id, (int) id));
+            }
+            writer.finish();
+        }
+        return file;
+    }
+
+    private static Path put(Path file, byte[] bytes) throws IOException {
+        Files.write(file, bytes);
+        return file;
+    }
+
+    private static byte[] chunk(long assetId, int points) {
+        ChunkEncoder encoder = new ChunkEncoder(points);
+        for (int i = 0; i < points; i++) {
+            encoder.add(DAY * 86_400 + i * 10L, assetId + i * 0.05);
+        }
+        return encoder.toByteArray();
+    }
+}
@@ -0,0 +1,61 @@
+package com.finfinal.backend.timeseries;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DownsamplerTest {
+
+    @Test
+    void smallThresholdsStillCap() {
+        Series series = series(100);
+
+        assertArrayEquals(new int[]{0}, series.downsample(1));
+        assertArrayEquals(new int[]{0, 99}, series.downsample(2));
+        assertEquals(3, series.downsample(3).length);
+    }
+
+    @Test
+    void returnsEverythingWhenItFits() {
+        assertEquals(10, series(10).downsample(10).length);
+        assertEquals(10, series(10).downsample(500).length);
+        assertEquals(0, series(0).downsample(0).length);
+    }
+
+    @Test
+    void rejectsThresholdsBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> series(10).downsample(0));
+        assertThrows(IllegalArgumentException.class, () -> series(10).downsample(-5));
+    }
+
+    @Test
+    void keepsASpikeAndBothEnds() {
+        Series series = series(10_000);
+        Series spiked = new Series(10_000);
+        for (int i = 0; i < series.size(); i++) {
+            spiked.add(series.time(i), i == 4_321 ? 1_000 : series.value(i));
+        }
+
+        int[] kept = spiked.downsample(50);
+        assertEquals(50, kept.length);
+        assertEquals(0, kept[0]);
+        assertEquals(9_999, kept[49]);
+        boolean spike = false;
+        for (int i = 1; i < kept.length; i++) {
+            assertTrue(kept[i] > kept[i - 1]);
+            spike |= kept[i] == 4_321;
+        }
+        assertTrue(spike);
+    }
+
+    private static Series series(int n) {
+        Series series = new Series(Math.max(1, n));
+        for (int i = 0; i < n; i++) {
+            series.add(1_000L + i * 10, 100 + Math.sin(i / 50.0));
+        }
+        return series;
+    }
+}
@@ -0,0 +1,59 @@
+package com.hardik.marketsim.config;
+
+import com.hardik.marketsim.model.AssetCategory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Correlation of per-tick shocks. Two assets in the same category move with that
+ * category's correlation, assets in different categories with crossCategory.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "market.correlation")
+public class CorrelationConfig {
+
+    // false = independent shocks
+    private boolean enabled = true;
+
+    private double crossCategory = 0.20;
+
+    private Map<AssetCategory, Double> intraCategory = new EnumMap<>(AssetCategory.class);
+
+    // Up to this many assets the full Cholesky factor is kept, above it the equivalent category factor form is used
+    private int denseLimit = 2048;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getCrossCategory() {
+        return crossCategory;
+    }
+
+    public void setCrossCategory(double crossCategory) {
+        this.crossCategory = crossCategory;
+    }
+
+    public Map<AssetCategory, Double> getIntraCategory() {
+        return intraCategory;
+    }
+
+    public void setIntraCategory(Map<AssetCategory, Double> intraCategory) {
+        this.intraCategory = intraCategory;
+    }
+
+    public int getDenseLimit() {
+        return denseLimit;
+    }
+
+    public void setDenseLimit(int denseLimit) {
+        this.denseLimit = denseLimit;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hardik.marketsim.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "market.journal")
+public class JournalConfig {
+
+    private boolean enabled = false;
+
+    private String directory = "data/journal";
+
+    // Target size of one mapped segment file, rounded down to whole tick records
+    private long segmentBytes = 256L * 1024 * 1024;
+
+    // Oldest segments are deleted beyond this count, 0 = keep everything
+    private int maxSegments = 16;
+
+    // Ticks waiting for the writer; the tick loop blocks while this many are queued
+    private int queueCapacity = 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public void setSegmentBytes(long segmentBytes) {
+        this.segmentBytes = segmentBytes;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -13,6 +13,9 @@ public class MarketAssetConfig {
 
     private List<AssetConfig> assets = new ArrayList<>();
 
+    // CSV or binary universe file, when set it replaces the assets list (see UniverseLoader)
+    private String universeFile;
+
     public List<AssetConfig> getAssets() {
         return assets;
     }
@@ -21,6 +24,14 @@ public class MarketAssetConfig {
         this.assets = assets;
     }
 
+    public String getUniverseFile() {
+        return universeFile;
+    }
+
+    public void setUniverseFile(String universeFile) {
+        this.universeFile = universeFile;
+    }
+
     public static class AssetConfig {
         private Long id;
         private AssetCategory category;
@@ -0,0 +1,42 @@
+package com.hardik.marketsim.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "market.orders")
+public class OrderBookConfig {
+
+    // Smallest price increment, order prices are rounded to it
+    private double tickSize = 0.05;
+
+    // Price levels per book, centred on the price when the book is first used
+    private int levels = 8192;
+
+    // Matching threads, each book is owned by exactly one of them
+    private int lanes = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    public double getTickSize() {
+        return tickSize;
+    }
+
+    public void setTickSize(double tickSize) {
+        this.tickSize = tickSize;
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    public void setLevels(int levels) {
+        this.levels = levels;
+    }
+
+    public int getLanes() {
+        return lanes;
+    }
+
+    public void setLanes(int lanes) {
+        this.lanes = lanes;
+    }
+}
@@ -0,0 +1,95 @@
+package com.hardik.marketsim.config;
+
+import com.hardik.marketsim.model.PriceSnapshot;
+import com.hardik.marketsim.model.TickFrame;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of a price frame, picked when the client sends Accept: application/x-price-frame.
+ *
+ * Layout (big-endian):
+ *   int magic 'PXF1' | int count | long seq | long timestamp   (24 byte header)
+ *   count x { long id | double price }                         (16 byte records)
+ */
+public class PriceFrameMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType PRICE_FRAME = new MediaType("application", "x-price-frame");
+
+    public static final int MAGIC = 0x50584631;
+    public static final int HEADER_BYTES = 24;
+    public static final int RECORD_BYTES = 16;
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    public PriceFrameMessageConverter() {
+        super(PRICE_FRAME);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PriceSnapshot.class.isAssignableFrom(clazz) || TickFrame.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Price frames are write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(Object frame, MediaType contentType) {
+        return (long) HEADER_BYTES + (long) RECORD_BYTES * asFrame(frame).size();
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        write(asFrame(value), out, newChunk());
+        out.flush();
+    }
+
+    // Encodes one frame, using chunk as the scratch buffer. Frames can be written back to back.
+    public static void write(TickFrame frame, OutputStream out, ByteBuffer chunk) throws IOException {
+
+        PriceSnapshot snapshot = frame.getSnapshot();
+        int size = frame.size();
+
+        ByteBuffer buffer = chunk.clear();
+
+        buffer.putInt(MAGIC)
+                .putInt(size)
+                .putLong(snapshot.getSeq())
+                .putLong(snapshot.getTimestamp());
+
+        for (int p = 0; p < size; p++) {
+            if (buffer.remaining() < RECORD_BYTES) {
+                out.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            int i = frame.indexAt(p);
+            buffer.putLong(snapshot.getId(i)).putDouble(snapshot.getPrice(i));
+        }
+
+        out.write(buffer.array(), 0, buffer.position());
+    }
+
+    public static ByteBuffer newChunk() {
+        return ByteBuffer.allocate(CHUNK_BYTES);
+    }
+
+    private static TickFrame asFrame(Object value) {
+        return value instanceof PriceSnapshot snapshot ? new TickFrame(snapshot, null) : (TickFrame) value;
+    }
+}
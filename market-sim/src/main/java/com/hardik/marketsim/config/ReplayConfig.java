@@ -0,0 +1,72 @@
+package com.hardik.marketsim.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+
+/**
+ * Deterministic replay: a fixed seed, a simulated clock and a speed factor.
+ * With the same seed, universe and shard size every run produces the same price paths.
+ *
+ * speed is in simulated seconds per wall-clock second. Every tick advances the simulated
+ * clock by market.engine.tick-interval-ms, so a tick is due every tick-interval-ms / speed
+ * of wall time; at the default 5000 ms interval, 23400 replays a 6.5 h trading day per second.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "market.replay")
+public class ReplayConfig {
+
+    private boolean enabled = false;
+
+    private long seed = 42;
+
+    // Simulated seconds per wall second. 23400 = one 6.5 h trading day per second, 0 = as fast as possible
+    private double speed = 1;
+
+    // Simulated time of tick 0
+    private Instant startTime = Instant.parse("2025-01-01T03:45:00Z");
+
+    // Stop after this many ticks, 0 = run forever
+    private long maxTicks = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getMaxTicks() {
+        return maxTicks;
+    }
+
+    public void setMaxTicks(long maxTicks) {
+        this.maxTicks = maxTicks;
+    }
+}
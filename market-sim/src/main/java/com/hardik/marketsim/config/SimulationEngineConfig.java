@@ -0,0 +1,53 @@
+package com.hardik.marketsim.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "market.engine")
+public class SimulationEngineConfig {
+
+    // Worker threads that advance shards in parallel
+    private int workers = Runtime.getRuntime().availableProcessors();
+
+    // Assets per shard, each shard owns its own RNG
+    private int shardSize = 4096;
+
+    // Must match the scheduler rate, used to detect overruns
+    private long tickIntervalMs = 5000;
+
+    // Recent snapshots kept for ?since= delta requests
+    private int retainedSnapshots = 8;
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getShardSize() {
+        return shardSize;
+    }
+
+    public void setShardSize(int shardSize) {
+        this.shardSize = shardSize;
+    }
+
+    public long getTickIntervalMs() {
+        return tickIntervalMs;
+    }
+
+    public void setTickIntervalMs(long tickIntervalMs) {
+        this.tickIntervalMs = tickIntervalMs;
+    }
+
+    public int getRetainedSnapshots() {
+        return retainedSnapshots;
+    }
+
+    public void setRetainedSnapshots(int retainedSnapshots) {
+        this.retainedSnapshots = retainedSnapshots;
+    }
+}
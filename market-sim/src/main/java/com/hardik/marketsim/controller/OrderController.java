@@ -0,0 +1,70 @@
+package com.hardik.marketsim.controller;
+
+import com.hardik.marketsim.model.BookDepth;
+import com.hardik.marketsim.model.OrderRequest;
+import com.hardik.marketsim.model.OrderResult;
+import com.hardik.marketsim.service.MatchingEngine;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/simulate/orders")
+public class OrderController {
+
+    private final MatchingEngine engine;
+
+    public OrderController(MatchingEngine engine) {
+        this.engine = engine;
+    }
+
+    @PostMapping
+    public ResponseEntity<OrderResult> submit(@RequestBody(required = false) OrderRequest request) {
+        if (!hasPriceAndQuantity(request) || request.getSide() == null || request.getAssetId() <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        OrderResult result = engine.submit(request.getAssetId(), request.getSide(),
+                request.getPrice(), request.getQuantity());
+        return result == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(result);
+    }
+
+    // Only price and quantity are read from the body
+    @PutMapping("/{orderId}")
+    public ResponseEntity<OrderResult> replace(@PathVariable long orderId,
+                                               @RequestBody(required = false) OrderRequest request) {
+        if (!hasPriceAndQuantity(request)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        OrderResult result = engine.replace(orderId, request.getPrice(), request.getQuantity());
+        return result == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping("/{orderId}")
+    public ResponseEntity<OrderResult> cancel(@PathVariable long orderId) {
+        OrderResult result = engine.cancel(orderId);
+        return result == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/book/{assetId}")
+    public ResponseEntity<BookDepth> book(@PathVariable long assetId,
+                                          @RequestParam(defaultValue = "10") int depth) {
+        BookDepth book = engine.depth(assetId, depth);
+        return book == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(book);
+    }
+
+    // Fields left out of the JSON come through as 0, so this also catches missing ones
+    private static boolean hasPriceAndQuantity(OrderRequest request) {
+        return request != null
+                && Double.isFinite(request.getPrice()) && request.getPrice() > 0
+                && request.getQuantity() > 0;
+    }
+}
@@ -1,25 +1,114 @@
 package com.hardik.marketsim.controller;
 
-import com.hardik.marketsim.model.SimulatedAsset;
+import com.hardik.marketsim.config.PriceFrameMessageConverter;
+import com.hardik.marketsim.model.PriceSnapshot;
+import com.hardik.marketsim.model.TickFrame;
+import com.hardik.marketsim.model.TickStats;
 import com.hardik.marketsim.service.PriceSimulationService;
+import com.hardik.marketsim.service.TickFeedService;
+import com.hardik.marketsim.service.TickJournalService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Collection;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 @RestController
 @RequestMapping("/simulate")
 public class SimulationController {
 
     private final PriceSimulationService service;
+    private final TickFeedService feed;
+    private final TickJournalService journal;
 
-    public SimulationController(PriceSimulationService service) {
+    public SimulationController(PriceSimulationService service,
+                                TickFeedService feed,
+                                TickJournalService journal) {
         this.service = service;
+        this.feed = feed;
+        this.journal = journal;
     }
 
+    private static final String TICK_SEQ_HEADER = "X-Tick-Seq";
+    private static final String TICK_EPOCH_HEADER = "X-Tick-Epoch";
+
     @GetMapping("/prices")
-    public Collection<SimulatedAsset> getPrices() {
-        return service.getAllAssets();
+    public ResponseEntity<PriceSnapshot> getPrices() {
+        PriceSnapshot snapshot = service.getSnapshot();
+        return ResponseEntity.ok()
+                .header(TICK_SEQ_HEADER, Long.toString(snapshot.getSeq()))
+                .header(TICK_EPOCH_HEADER, Long.toString(service.getEpoch()))
+                .body(snapshot);
+    }
+
+    // Only the assets that moved after ?since=<seq>&epoch=<run>, 304 when nothing did.
+    // A since from another run (epoch mismatch) gets the full universe.
+    @GetMapping(path = "/prices", params = "since")
+    public ResponseEntity<TickFrame> getPricesSince(@RequestParam long since,
+                                                    @RequestParam(required = false) Long epoch) {
+        TickFrame changes = service.getChangesSince(since, epoch);
+        String currentEpoch = Long.toString(service.getEpoch());
+
+        if (changes == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .header(TICK_SEQ_HEADER, Long.toString(since))
+                    .header(TICK_EPOCH_HEADER, currentEpoch)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .header(TICK_SEQ_HEADER, Long.toString(changes.getSnapshot().getSeq()))
+                .header(TICK_EPOCH_HEADER, currentEpoch)
+                .body(changes);
+    }
+
+    // Server-sent "tick" events, optionally limited to ?ids=1,2,3
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) List<Long> ids) {
+        return feed.subscribe(ids);
+    }
+
+    /**
+     * Replays journaled ticks from ?from=<seq> as back-to-back binary price frames,
+     * so a consumer that was down can catch up on every tick it missed.
+     */
+    @GetMapping("/journal")
+    public ResponseEntity<StreamingResponseBody> replayJournal(
+            @RequestParam long from,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        if (!journal.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            ByteBuffer chunk = PriceFrameMessageConverter.newChunk();
+            journal.replay(from, limit, snapshot -> {
+                try {
+                    PriceFrameMessageConverter.write(new TickFrame(snapshot, null), out, chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+
+        return ResponseEntity.ok()
+                .contentType(PriceFrameMessageConverter.PRICE_FRAME)
+                .header("X-Journal-First-Seq", Long.toString(journal.getFirstSeq()))
+                .header("X-Journal-Last-Seq", Long.toString(journal.getLastSeq()))
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    public TickStats getStats() {
+        return service.getTickStats();
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.hardik.marketsim.model;
+
+import java.util.List;
+
+public class BookDepth {
+
+    private final long assetId;
+    private final double lastTradePrice;
+    private final List<Level> bids;
+    private final List<Level> asks;
+
+    // times the price ladder followed the price, and orders it could not reach
+    private final long ladderSlides;
+    private final long offLadderRejections;
+
+    public BookDepth(long assetId, double lastTradePrice, List<Level> bids, List<Level> asks) {
+        this(assetId, lastTradePrice, bids, asks, 0, 0);
+    }
+
+    public BookDepth(long assetId, double lastTradePrice, List<Level> bids, List<Level> asks,
+                     long ladderSlides, long offLadderRejections) {
+        this.assetId = assetId;
+        this.lastTradePrice = lastTradePrice;
+        this.bids = bids;
+        this.asks = asks;
+        this.ladderSlides = ladderSlides;
+        this.offLadderRejections = offLadderRejections;
+    }
+
+    public long getAssetId() {
+        return assetId;
+    }
+
+    public double getLastTradePrice() {
+        return lastTradePrice;
+    }
+
+    public List<Level> getBids() {
+        return bids;
+    }
+
+    public List<Level> getAsks() {
+        return asks;
+    }
+
+    public long getLadderSlides() {
+        return ladderSlides;
+    }
+
+    public long getOffLadderRejections() {
+        return offLadderRejections;
+    }
+
+    public record Level(double price, long quantity) {
+    }
+}
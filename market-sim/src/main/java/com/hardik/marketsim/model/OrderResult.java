@@ -0,0 +1,32 @@
+package com.hardik.marketsim.model;
+
+public class OrderResult {
+
+    private final long orderId;
+    private final OrderStatus status;
+    private final long filledQuantity;
+    private final long restingQuantity;
+
+    public OrderResult(long orderId, OrderStatus status, long filledQuantity, long restingQuantity) {
+        this.orderId = orderId;
+        this.status = status;
+        this.filledQuantity = filledQuantity;
+        this.restingQuantity = restingQuantity;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public long getFilledQuantity() {
+        return filledQuantity;
+    }
+
+    public long getRestingQuantity() {
+        return restingQuantity;
+    }
+}
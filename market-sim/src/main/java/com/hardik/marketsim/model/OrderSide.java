@@ -0,0 +1,6 @@
+package com.hardik.marketsim.model;
+
+public enum OrderSide {
+    BUY,
+    SELL
+}
@@ -0,0 +1,9 @@
+package com.hardik.marketsim.model;
+
+public enum OrderStatus {
+    RESTING,
+    PARTIALLY_FILLED,
+    FILLED,
+    CANCELLED,
+    REJECTED
+}
@@ -0,0 +1,59 @@
+package com.hardik.marketsim.model;
+
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * One fully computed tick. The arrays are never written after the snapshot is published,
+ * so any number of readers can walk it without locks and always see a single consistent tick.
+ * ids and categories are shared by every snapshot of the same universe.
+ */
+@JsonSerialize(using = PriceSnapshotSerializer.class)
+public final class PriceSnapshot {
+
+    private final long seq;
+    private final long timestamp;     // epoch millis
+    private final long[] ids;
+    private final byte[] categories;  // AssetCategory ordinals
+    private final double[] prices;
+
+    public PriceSnapshot(long seq, long timestamp, long[] ids, byte[] categories, double[] prices) {
+        this.seq = seq;
+        this.timestamp = timestamp;
+        this.ids = ids;
+        this.categories = categories;
+        this.prices = prices;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long getId(int index) {
+        return ids[index];
+    }
+
+    public double getPrice(int index) {
+        return prices[index];
+    }
+
+    public AssetCategory getCategory(int index) {
+        return AssetCategory.values()[categories[index]];
+    }
+
+    public int getCategoryOrdinal(int index) {
+        return categories[index];
+    }
+
+    // Backing array, read-only by contract. Used by the tick engine as the next tick's input.
+    public double[] getPrices() {
+        return prices;
+    }
+}
@@ -0,0 +1,28 @@
+package com.hardik.marketsim.model;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes a snapshot straight from its primitive arrays, keeping the
+ * original [{id, category, price}] shape the backend already consumes.
+ */
+public class PriceSnapshotSerializer extends ValueSerializer<PriceSnapshot> {
+
+    private static final AssetCategory[] CATEGORIES = AssetCategory.values();
+
+    @Override
+    public void serialize(PriceSnapshot snapshot, JsonGenerator gen, SerializationContext ctxt) {
+        int size = snapshot.size();
+        gen.writeStartArray(snapshot, size);
+        for (int i = 0; i < size; i++) {
+            gen.writeStartObject();
+            gen.writeNumberProperty("id", snapshot.getId(i));
+            gen.writeStringProperty("category", CATEGORIES[snapshot.getCategoryOrdinal(i)].name());
+            gen.writeNumberProperty("price", snapshot.getPrice(i));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,31 @@
+package com.hardik.marketsim.model;
+
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * A snapshot as seen by one stream subscriber: either the whole universe
+ * or only the store indices the subscriber asked for.
+ */
+@JsonSerialize(using = TickFrameSerializer.class)
+public final class TickFrame {
+
+    private final PriceSnapshot snapshot;
+    private final int[] indices;   // null means every asset
+
+    public TickFrame(PriceSnapshot snapshot, int[] indices) {
+        this.snapshot = snapshot;
+        this.indices = indices;
+    }
+
+    public PriceSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return indices == null ? snapshot.size() : indices.length;
+    }
+
+    public int indexAt(int position) {
+        return indices == null ? position : indices[position];
+    }
+}
@@ -0,0 +1,32 @@
+package com.hardik.marketsim.model;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * {"seq": .., "timestamp": .., "prices": [{"id": .., "price": ..}, ...]}
+ */
+public class TickFrameSerializer extends ValueSerializer<TickFrame> {
+
+    @Override
+    public void serialize(TickFrame frame, JsonGenerator gen, SerializationContext ctxt) {
+        PriceSnapshot snapshot = frame.getSnapshot();
+        int size = frame.size();
+
+        gen.writeStartObject();
+        gen.writeNumberProperty("seq", snapshot.getSeq());
+        gen.writeNumberProperty("timestamp", snapshot.getTimestamp());
+        gen.writeName("prices");
+        gen.writeStartArray(frame, size);
+        for (int p = 0; p < size; p++) {
+            int i = frame.indexAt(p);
+            gen.writeStartObject();
+            gen.writeNumberProperty("id", snapshot.getId(i));
+            gen.writeNumberProperty("price", snapshot.getPrice(i));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,51 @@
+package com.hardik.marketsim.model;
+
+public class TickStats {
+
+    private final long tickCount;
+    private final long overrunCount;
+    private final double lastTickMs;
+    private final double maxTickMs;
+    private final int assets;
+    private final int shards;
+    private final int workers;
+
+    public TickStats(long tickCount, long overrunCount, double lastTickMs, double maxTickMs,
+                     int assets, int shards, int workers) {
+        this.tickCount = tickCount;
+        this.overrunCount = overrunCount;
+        this.lastTickMs = lastTickMs;
+        this.maxTickMs = maxTickMs;
+        this.assets = assets;
+        this.shards = shards;
+        this.workers = workers;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    public double getLastTickMs() {
+        return lastTickMs;
+    }
+
+    public double getMaxTickMs() {
+        return maxTickMs;
+    }
+
+    public int getAssets() {
+        return assets;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+}
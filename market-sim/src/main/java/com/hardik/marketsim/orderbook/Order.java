@@ -0,0 +1,23 @@
+package com.hardik.marketsim.orderbook;
+
+/**
+ * A resting order. Instances are pooled and linked into their price level's FIFO queue,
+ * so placing and cancelling orders does not allocate once the pool is warm.
+ */
+final class Order {
+
+    long id;
+    boolean buy;
+    int level;
+    long remaining;
+
+    Order prev;
+    Order next;
+
+    void clear() {
+        id = 0;
+        remaining = 0;
+        prev = null;
+        next = null;
+    }
+}
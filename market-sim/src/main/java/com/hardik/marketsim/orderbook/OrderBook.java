@@ -0,0 +1,421 @@
+package com.hardik.marketsim.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * Price-time priority limit order book for one asset.
+ *
+ * Prices are integer ticks. The book covers a ladder of levelCount levels, first centred on
+ * the reference price it was created with; each level is a FIFO of pooled orders, and the
+ * per-level state lives in parallel arrays indexed by (priceTicks - basePriceTicks).
+ *
+ * When an order arrives off the ladder, the ladder slides to centre on its price as far as
+ * the resting orders allow, so a drifting price never leaves the book behind. Only an order
+ * that cannot share one ladder with the resting orders is rejected; those are counted in
+ * offLadderRejections.
+ *
+ * Not thread-safe: every call for a given book must come from the same thread.
+ * Results of the last submit/replace are left in lastFilled / lastResting rather than
+ * returned as an object, so the hot path stays allocation-free.
+ *
+ * Order ids are (assetIndex << 40 | sequence), so the owning book can be found from the id alone.
+ */
+public final class OrderBook {
+
+    public static final long REJECTED = -1;
+
+    private final int assetIndex;
+    private long basePriceTicks;
+    private final int levelCount;
+    private final TradeListener listener;
+
+    private final Order[] bidHead;
+    private final Order[] bidTail;
+    private final long[] bidQty;
+    private final Order[] askHead;
+    private final Order[] askTail;
+    private final long[] askQty;
+
+    private int bestBid = -1;   // highest bid level, -1 when no bids
+    private int bestAsk;        // lowest ask level, levelCount when no asks
+
+    private final OrderIndex orders = new OrderIndex(1024);
+    private final OrderPool pool = new OrderPool(1024);
+
+    private long nextLocalId = 1;
+    private long lastFilled;
+    private long lastResting;
+    private long lastTradeTicks;
+    private long tradeCount;
+    private long slideCount;
+    private long offLadderRejections;
+
+    public OrderBook(int assetIndex, long referencePriceTicks, int levelCount, TradeListener listener) {
+        this.assetIndex = assetIndex;
+        this.levelCount = levelCount;
+        this.basePriceTicks = Math.max(1, referencePriceTicks - levelCount / 2);
+        this.listener = listener;
+
+        this.bidHead = new Order[levelCount];
+        this.bidTail = new Order[levelCount];
+        this.bidQty = new long[levelCount];
+        this.askHead = new Order[levelCount];
+        this.askTail = new Order[levelCount];
+        this.askQty = new long[levelCount];
+        this.bestAsk = levelCount;
+    }
+
+    /**
+     * Matches an incoming limit order and rests whatever is left.
+     * Returns the order id, or REJECTED when quantity or price is not positive, or the price is
+     * too far from the resting orders to fit on one ladder with them.
+     */
+    public long submit(boolean buy, long priceTicks, long quantity) {
+        if (quantity <= 0 || !reach(priceTicks)) {
+            lastFilled = 0;
+            lastResting = 0;
+            return REJECTED;
+        }
+        return place(nextId(), buy, (int) (priceTicks - basePriceTicks), quantity);
+    }
+
+    // Returns true when the order was resting and has been removed.
+    public boolean cancel(long orderId) {
+        Order order = orders.remove(orderId);
+        if (order == null) return false;
+
+        unlink(order);
+        pool.release(order);
+        return true;
+    }
+
+    /**
+     * Changes price and/or quantity. A pure quantity decrease keeps time priority,
+     * anything else re-queues the order (and may trade) under the same id.
+     * Returns the order id, or REJECTED if it is not resting or the new terms are invalid.
+     */
+    public long replace(long orderId, long priceTicks, long quantity) {
+        Order order = orders.get(orderId);
+        if (order == null || quantity <= 0 || !reach(priceTicks)) {
+            lastFilled = 0;
+            lastResting = 0;
+            return REJECTED;
+        }
+
+        int level = (int) (priceTicks - basePriceTicks);
+
+        if (level == order.level && quantity <= order.remaining) {
+            long reduction = order.remaining - quantity;
+            order.remaining = quantity;
+            if (order.buy) bidQty[level] -= reduction;
+            else askQty[level] -= reduction;
+
+            lastFilled = 0;
+            lastResting = quantity;
+            return orderId;
+        }
+
+        boolean buy = order.buy;
+        cancel(orderId);
+        return place(orderId, buy, level, quantity);
+    }
+
+    public int getAssetIndex() {
+        return assetIndex;
+    }
+
+    public long getLastFilled() {
+        return lastFilled;
+    }
+
+    public long getLastResting() {
+        return lastResting;
+    }
+
+    public long getLastTradeTicks() {
+        return lastTradeTicks;
+    }
+
+    public long getTradeCount() {
+        return tradeCount;
+    }
+
+    // Times the ladder has been moved to follow the price
+    public long getSlideCount() {
+        return slideCount;
+    }
+
+    // Orders rejected because their price could not be brought onto the ladder
+    public long getOffLadderRejections() {
+        return offLadderRejections;
+    }
+
+    public long getLowestPriceTicks() {
+        return basePriceTicks;
+    }
+
+    public long getHighestPriceTicks() {
+        return basePriceTicks + levelCount - 1;
+    }
+
+    public boolean isResting(long orderId) {
+        return orders.get(orderId) != null;
+    }
+
+    public int getRestingOrderCount() {
+        return orders.size();
+    }
+
+    public long getBestBidTicks() {
+        return bestBid < 0 ? -1 : basePriceTicks + bestBid;
+    }
+
+    public long getBestAskTicks() {
+        return bestAsk >= levelCount ? -1 : basePriceTicks + bestAsk;
+    }
+
+    /**
+     * Copies up to depth non-empty levels per side into the given arrays, best first.
+     * Returns the number of bid levels in the low 32 bits and ask levels in the high 32 bits.
+     */
+    public long depth(int depth, long[] bidTicks, long[] bidSizes, long[] askTicks, long[] askSizes) {
+        int bids = 0;
+        for (int l = bestBid; l >= 0 && bids < depth; l--) {
+            if (bidQty[l] > 0) {
+                bidTicks[bids] = basePriceTicks + l;
+                bidSizes[bids++] = bidQty[l];
+            }
+        }
+        int asks = 0;
+        for (int l = bestAsk; l < levelCount && asks < depth; l++) {
+            if (askQty[l] > 0) {
+                askTicks[asks] = basePriceTicks + l;
+                askSizes[asks++] = askQty[l];
+            }
+        }
+        return ((long) asks << 32) | bids;
+    }
+
+    private boolean onLadder(long priceTicks) {
+        return priceTicks >= basePriceTicks && priceTicks - basePriceTicks < levelCount;
+    }
+
+    // True when priceTicks is on the ladder, sliding it there first if needed.
+    private boolean reach(long priceTicks) {
+        if (priceTicks < 1) return false;
+        if (onLadder(priceTicks)) return true;
+
+        long target = Math.max(1, priceTicks - levelCount / 2);
+        if (orders.size() > 0) {
+            // every resting order has to stay on the ladder: lowest and highest occupied prices
+            long low = Math.min(priceTicks, basePriceTicks + lowestOccupiedLevel());
+            long high = Math.max(priceTicks, basePriceTicks + highestOccupiedLevel());
+            if (high - low >= levelCount) {
+                offLadderRejections++;
+                return false;
+            }
+            target = Math.max(Math.min(target, low), high - levelCount + 1);
+        }
+        slide(target);
+        return true;
+    }
+
+    // Moves the ladder so it starts at newBase; resting orders keep their prices and queue order.
+    private void slide(long newBase) {
+        long shift = newBase - basePriceTicks;
+        if (shift == 0) return;
+
+        if (orders.size() == 0) {
+            basePriceTicks = newBase;
+            bestBid = -1;
+            bestAsk = levelCount;
+            slideCount++;
+            return;
+        }
+
+        // level l moves to l - shift; every occupied level fits by construction
+        int s = (int) shift;
+        shiftLevels(bidHead, s);
+        shiftLevels(bidTail, s);
+        shiftLevels(askHead, s);
+        shiftLevels(askTail, s);
+        shiftLevels(bidQty, s);
+        shiftLevels(askQty, s);
+
+        for (int l = 0; l < levelCount; l++) {
+            for (Order o = bidHead[l]; o != null; o = o.next) o.level = l;
+            for (Order o = askHead[l]; o != null; o = o.next) o.level = l;
+        }
+        if (bestBid >= 0) bestBid -= s;
+        if (bestAsk < levelCount) bestAsk -= s;
+
+        basePriceTicks = newBase;
+        slideCount++;
+    }
+
+    private void shiftLevels(Order[] levels, int shift) {
+        if (shift > 0) {
+            System.arraycopy(levels, shift, levels, 0, levelCount - shift);
+            Arrays.fill(levels, levelCount - shift, levelCount, null);
+        } else {
+            System.arraycopy(levels, 0, levels, -shift, levelCount + shift);
+            Arrays.fill(levels, 0, -shift, null);
+        }
+    }
+
+    private void shiftLevels(long[] levels, int shift) {
+        if (shift > 0) {
+            System.arraycopy(levels, shift, levels, 0, levelCount - shift);
+            Arrays.fill(levels, levelCount - shift, levelCount, 0);
+        } else {
+            System.arraycopy(levels, 0, levels, -shift, levelCount + shift);
+            Arrays.fill(levels, 0, -shift, 0);
+        }
+    }
+
+    private int lowestOccupiedLevel() {
+        int low = bestAsk;
+        for (int l = 0; l < Math.min(low, bestBid + 1); l++) {
+            if (bidHead[l] != null) return l;
+        }
+        return low;
+    }
+
+    private int highestOccupiedLevel() {
+        int high = bestBid;
+        for (int l = levelCount - 1; l > Math.max(high, bestAsk - 1); l--) {
+            if (askHead[l] != null) return l;
+        }
+        return high;
+    }
+
+    private long place(long id, boolean buy, int level, long quantity) {
+        long remaining = buy ? matchBuy(level, quantity) : matchSell(level, quantity);
+
+        lastFilled = quantity - remaining;
+        lastResting = remaining;
+
+        if (remaining > 0) {
+            Order order = pool.acquire();
+            order.id = id;
+            order.buy = buy;
+            order.level = level;
+            order.remaining = remaining;
+            append(order);
+            orders.put(id, order);
+        }
+        return id;
+    }
+
+    private long matchBuy(int limit, long quantity) {
+        while (quantity > 0 && bestAsk <= limit) {
+            int level = bestAsk;
+            quantity = fillLevel(askHead, askQty, level, quantity);
+            if (askHead[level] == null) {
+                askTail[level] = null;
+                bestAsk = nextAskLevel(level);
+            }
+        }
+        return quantity;
+    }
+
+    private long matchSell(int limit, long quantity) {
+        while (quantity > 0 && bestBid >= limit && bestBid >= 0) {
+            int level = bestBid;
+            quantity = fillLevel(bidHead, bidQty, level, quantity);
+            if (bidHead[level] == null) {
+                bidTail[level] = null;
+                bestBid = nextBidLevel(level);
+            }
+        }
+        return quantity;
+    }
+
+    // Fills against one level in FIFO order, returns what is left of the incoming quantity.
+    private long fillLevel(Order[] heads, long[] levelQty, int level, long quantity) {
+        long priceTicks = basePriceTicks + level;
+
+        while (quantity > 0) {
+            Order resting = heads[level];
+            if (resting == null) break;
+
+            long traded = Math.min(quantity, resting.remaining);
+            quantity -= traded;
+            resting.remaining -= traded;
+            levelQty[level] -= traded;
+
+            lastTradeTicks = priceTicks;
+            tradeCount++;
+            listener.onTrade(assetIndex, priceTicks, traded);
+
+            if (resting.remaining == 0) {
+                heads[level] = resting.next;
+                if (resting.next != null) resting.next.prev = null;
+                orders.remove(resting.id);
+                pool.release(resting);
+            }
+        }
+        return quantity;
+    }
+
+    private void append(Order order) {
+        int level = order.level;
+        Order[] heads = order.buy ? bidHead : askHead;
+        Order[] tails = order.buy ? bidTail : askTail;
+
+        Order tail = tails[level];
+        if (tail == null) {
+            heads[level] = order;
+        } else {
+            tail.next = order;
+            order.prev = tail;
+        }
+        tails[level] = order;
+
+        if (order.buy) {
+            bidQty[level] += order.remaining;
+            if (level > bestBid) bestBid = level;
+        } else {
+            askQty[level] += order.remaining;
+            if (level < bestAsk) bestAsk = level;
+        }
+    }
+
+    private void unlink(Order order) {
+        int level = order.level;
+        Order[] heads = order.buy ? bidHead : askHead;
+        Order[] tails = order.buy ? bidTail : askTail;
+
+        if (order.prev == null) heads[level] = order.next;
+        else order.prev.next = order.next;
+
+        if (order.next == null) tails[level] = order.prev;
+        else order.next.prev = order.prev;
+
+        if (order.buy) {
+            bidQty[level] -= order.remaining;
+            if (heads[level] == null && level == bestBid) bestBid = nextBidLevel(level);
+        } else {
+            askQty[level] -= order.remaining;
+            if (heads[level] == null && level == bestAsk) bestAsk = nextAskLevel(level);
+        }
+    }
+
+    private int nextBidLevel(int from) {
+        for (int l = from - 1; l >= 0; l--) {
+            if (bidHead[l] != null) return l;
+        }
+        return -1;
+    }
+
+    private int nextAskLevel(int from) {
+        for (int l = from + 1; l < levelCount; l++) {
+            if (askHead[l] != null) return l;
+        }
+        return levelCount;
+    }
+
+    private long nextId() {
+        return ((long) assetIndex << 40) | nextLocalId++;
+    }
+}
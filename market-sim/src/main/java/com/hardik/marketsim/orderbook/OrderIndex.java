@@ -0,0 +1,87 @@
+package com.hardik.marketsim.orderbook;
+
+/**
+ * Open-addressing map from order id to resting order, with linear probing and
+ * backward-shift deletion so lookups and removals never box the key.
+ */
+final class OrderIndex {
+
+    private long[] keys;
+    private Order[] values;
+    private int mask;
+    private int size;
+
+    OrderIndex(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new Order[capacity];
+        mask = capacity - 1;
+    }
+
+    Order get(long id) {
+        for (int slot = slot(id); ; slot = (slot + 1) & mask) {
+            Order order = values[slot];
+            if (order == null) return null;
+            if (keys[slot] == id) return order;
+        }
+    }
+
+    void put(long id, Order order) {
+        if ((size + 1) * 2 > keys.length) grow();
+
+        int slot = slot(id);
+        while (values[slot] != null && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == null) size++;
+        keys[slot] = id;
+        values[slot] = order;
+    }
+
+    Order remove(long id) {
+        int slot = slot(id);
+        while (values[slot] != null && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        Order removed = values[slot];
+        if (removed == null) return null;
+
+        // shift following entries back so probing chains stay unbroken
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Order[] oldValues = values;
+
+        keys = new long[oldKeys.length * 2];
+        values = new Order[oldKeys.length * 2];
+        mask = keys.length - 1;
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) put(oldKeys[i], oldValues[i]);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.hardik.marketsim.orderbook;
+
+import java.util.Arrays;
+
+// Free list of Order objects owned by a single book (and so a single thread).
+final class OrderPool {
+
+    private Order[] free;
+    private int size;
+
+    OrderPool(int initialCapacity) {
+        free = new Order[initialCapacity];
+        for (int i = 0; i < initialCapacity; i++) {
+            free[i] = new Order();
+        }
+        size = initialCapacity;
+    }
+
+    Order acquire() {
+        return size == 0 ? new Order() : free[--size];
+    }
+
+    void release(Order order) {
+        order.clear();
+        if (size == free.length) {
+            free = Arrays.copyOf(free, size * 2);
+        }
+        free[size++] = order;
+    }
+}
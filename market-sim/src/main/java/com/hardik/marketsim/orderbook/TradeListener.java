@@ -0,0 +1,8 @@
+package com.hardik.marketsim.orderbook;
+
+@FunctionalInterface
+public interface TradeListener {
+
+    // Called on the book's thread for every fill, at the resting order's price.
+    void onTrade(int assetIndex, long priceTicks, long quantity);
+}
@@ -0,0 +1,170 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.config.CorrelationConfig;
+import com.hardik.marketsim.model.AssetCategory;
+
+import java.util.SplittableRandom;
+
+/**
+ * Turns independent standard normal draws into correlated ones.
+ *
+ * Up to denseLimit assets the full correlation matrix is factored once (Cholesky, packed
+ * lower triangle) and every tick applies it as a blocked matrix-vector product, so a block
+ * of draws stays in L1 while the factor rows stream past it. Larger universes use the exact
+ * factor form of the same matrix: y = a[c] * F[c] + b[c] * z, where F are correlated
+ * category factors drawn once per tick and a[c]^2 is the intra-category correlation.
+ *
+ * Each output row only depends on the draws and the factor, so the result is the same
+ * whichever shard computes it. Nothing is allocated after construction.
+ */
+public class CorrelationModel {
+
+    private static final int BLOCK = 64;
+
+    private final byte[] categories;
+    private final double[] dense;          // packed row-major lower triangle, null in factor form
+
+    private final double[] loading;        // a[c] = sqrt(intra correlation)
+    private final double[] residual;       // b[c] = sqrt(1 - intra correlation)
+    private final double[] categoryFactor; // packed Cholesky factor of the category factor correlation, null in dense form
+    private final double[] draws;          // scratch for the per-tick category draws
+    private final double[] factors;        // F for the current tick
+
+    public CorrelationModel(byte[] categories, CorrelationConfig config) {
+        this.categories = categories;
+
+        int categoryCount = AssetCategory.values().length;
+        double[] intra = new double[categoryCount];
+        double cross = config.isEnabled() ? config.getCrossCategory() : 0;
+        for (AssetCategory category : AssetCategory.values()) {
+            intra[category.ordinal()] = config.isEnabled()
+                    ? config.getIntraCategory().getOrDefault(category, 0.0)
+                    : 0;
+        }
+
+        this.loading = new double[categoryCount];
+        this.residual = new double[categoryCount];
+        this.draws = new double[categoryCount];
+        this.factors = new double[categoryCount];
+
+        for (int c = 0; c < categoryCount; c++) {
+            if (intra[c] < 0 || intra[c] >= 1) {
+                throw new IllegalStateException("Intra-category correlation for "
+                        + AssetCategory.values()[c] + " must be in [0, 1): " + intra[c]);
+            }
+            loading[c] = Math.sqrt(intra[c]);
+            residual[c] = Math.sqrt(1 - intra[c]);
+        }
+
+        int size = categories.length;
+        if (config.isEnabled() && size <= config.getDenseLimit()) {
+            long start = System.nanoTime();
+            this.dense = cholesky(size, (i, j) -> i == j ? 1
+                    : categories[i] == categories[j] ? intra[categories[i]]
+                    : cross);
+            this.categoryFactor = null;
+            System.out.println("CORRELATION: dense Cholesky factor for " + size + " assets in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } else {
+            this.dense = null;
+            this.categoryFactor = cholesky(categoryCount, (i, j) -> {
+                if (i == j) return 1;
+                if (cross == 0) return 0;
+                if (loading[i] == 0 || loading[j] == 0) {
+                    throw new IllegalStateException("Cross-category correlation needs a non-zero intra-category correlation for "
+                            + AssetCategory.values()[loading[i] == 0 ? i : j]);
+                }
+                return cross / (loading[i] * loading[j]);
+            });
+        }
+    }
+
+    public boolean isDense() {
+        return dense != null;
+    }
+
+    // Draws this tick's category factors. Call once per tick before correlate(), from one thread.
+    public void prepare(SplittableRandom random) {
+        if (dense != null) return;
+
+        int n = draws.length;
+        for (int c = 0; c < n; c++) {
+            draws[c] = random.nextGaussian();
+        }
+        for (int i = 0; i < n; i++) {
+            int row = i * (i + 1) / 2;
+            double sum = 0;
+            for (int j = 0; j <= i; j++) {
+                sum += categoryFactor[row + j] * draws[j];
+            }
+            factors[i] = sum;
+        }
+    }
+
+    /**
+     * Writes correlated standard normals for rows [from, to) into out.
+     * In dense form row i reads z[0..i], so every draw must be in place before any shard calls this.
+     */
+    public void correlate(double[] z, double[] out, int from, int to) {
+        if (dense == null) {
+            for (int i = from; i < to; i++) {
+                int c = categories[i];
+                out[i] = loading[c] * factors[c] + residual[c] * z[i];
+            }
+            return;
+        }
+
+        for (int r0 = from; r0 < to; r0 += BLOCK) {
+            int r1 = Math.min(r0 + BLOCK, to);
+            for (int i = r0; i < r1; i++) {
+                out[i] = 0;
+            }
+
+            // only columns up to the last row of the block are non-zero
+            for (int c0 = 0; c0 < r1; c0 += BLOCK) {
+                int c1 = Math.min(c0 + BLOCK, r1);
+                for (int i = Math.max(r0, c0); i < r1; i++) {
+                    int row = i * (i + 1) / 2;
+                    int end = Math.min(c1, i + 1);
+                    double acc = out[i];
+                    for (int j = c0; j < end; j++) {
+                        acc += dense[row + j] * z[j];
+                    }
+                    out[i] = acc;
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Matrix {
+        double get(int i, int j);
+    }
+
+    // Cholesky-Banachiewicz into a packed lower triangle, both rows of every dot product are contiguous.
+    private static double[] cholesky(int n, Matrix matrix) {
+        double[] l = new double[n * (n + 1) / 2];
+
+        for (int i = 0; i < n; i++) {
+            int rowI = i * (i + 1) / 2;
+            for (int j = 0; j <= i; j++) {
+                int rowJ = j * (j + 1) / 2;
+
+                double sum = matrix.get(i, j);
+                for (int k = 0; k < j; k++) {
+                    sum -= l[rowI + k] * l[rowJ + k];
+                }
+
+                if (i == j) {
+                    if (sum <= 0) {
+                        throw new IllegalStateException("Correlation matrix is not positive definite at row " + i);
+                    }
+                    l[rowI + i] = Math.sqrt(sum);
+                } else {
+                    l[rowI + j] = sum / l[rowJ + j];
+                }
+            }
+        }
+        return l;
+    }
+}
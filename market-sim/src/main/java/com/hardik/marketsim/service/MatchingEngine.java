@@ -0,0 +1,200 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.config.OrderBookConfig;
+import com.hardik.marketsim.model.BookDepth;
+import com.hardik.marketsim.model.OrderResult;
+import com.hardik.marketsim.model.OrderSide;
+import com.hardik.marketsim.model.OrderStatus;
+import com.hardik.marketsim.orderbook.OrderBook;
+import com.hardik.marketsim.orderbook.TradeListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Routes order events to per-asset books. Every book is owned by one lane (a single thread),
+ * picked by asset index, so a book is only ever touched by its lane and needs no locking;
+ * different assets match in parallel across lanes.
+ *
+ * Books are created on first use, centred on the asset's simulated price at that moment,
+ * and slide their price ladder to follow orders placed away from it.
+ * Trades are fed back into the simulation as the asset's last traded price.
+ */
+@Service
+public class MatchingEngine implements TradeListener {
+
+    private final PriceSimulationService simulation;
+    private final double tickSize;
+    private final int levels;
+    private final OrderBook[] books;        // slot i is only read or written on lane i % lanes.length
+    private final long[] reportedRejections;   // same ownership as books
+    private final ExecutorService[] lanes;
+
+    public MatchingEngine(PriceSimulationService simulation, OrderBookConfig config) {
+        this.simulation = simulation;
+        this.tickSize = config.getTickSize();
+        this.levels = config.getLevels();
+        this.books = new OrderBook[simulation.getIds().length];
+        this.reportedRejections = new long[books.length];
+
+        this.lanes = new ExecutorService[Math.max(1, config.getLanes())];
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "order-lane-" + (i + 1);
+            lanes[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    // Returns null when the asset is not simulated.
+    public OrderResult submit(long assetId, OrderSide side, double price, long quantity) {
+        int index = simulation.indexOf(assetId);
+        if (index < 0) return null;
+
+        long priceTicks = toTicks(price);
+        return onLane(index, () -> {
+            OrderBook book = book(index);
+            long orderId = book.submit(side == OrderSide.BUY, priceTicks, quantity);
+            return result(book, orderId);
+        });
+    }
+
+    // Returns null when the order is not resting (unknown, filled or already cancelled).
+    public OrderResult cancel(long orderId) {
+        int index = assetIndexOf(orderId);
+        if (index < 0) return null;
+
+        return onLane(index, () -> {
+            OrderBook book = books[index];
+            if (book == null || !book.cancel(orderId)) return null;
+            return new OrderResult(orderId, OrderStatus.CANCELLED, 0, 0);
+        });
+    }
+
+    // Returns null when the order is not resting.
+    public OrderResult replace(long orderId, double price, long quantity) {
+        int index = assetIndexOf(orderId);
+        if (index < 0) return null;
+
+        long priceTicks = toTicks(price);
+        return onLane(index, () -> {
+            OrderBook book = books[index];
+            if (book == null || !book.isResting(orderId)) return null;
+
+            long replaced = book.replace(orderId, priceTicks, quantity);
+            return result(book, replaced);
+        });
+    }
+
+    // Returns null when the asset is not simulated.
+    public BookDepth depth(long assetId, int depth) {
+        int index = simulation.indexOf(assetId);
+        if (index < 0) return null;
+
+        int n = Math.max(1, depth);
+        return onLane(index, () -> {
+            OrderBook book = books[index];
+            if (book == null) return new BookDepth(assetId, 0, List.of(), List.of());
+
+            long[] bidTicks = new long[n];
+            long[] bidSizes = new long[n];
+            long[] askTicks = new long[n];
+            long[] askSizes = new long[n];
+            long counts = book.depth(n, bidTicks, bidSizes, askTicks, askSizes);
+
+            return new BookDepth(
+                    assetId,
+                    book.getTradeCount() == 0 ? 0 : toPrice(book.getLastTradeTicks()),
+                    levels(bidTicks, bidSizes, (int) counts),
+                    levels(askTicks, askSizes, (int) (counts >>> 32)),
+                    book.getSlideCount(),
+                    book.getOffLadderRejections()
+            );
+        });
+    }
+
+    @Override
+    public void onTrade(int assetIndex, long priceTicks, long quantity) {
+        simulation.recordTrade(assetIndex, toPrice(priceTicks));
+    }
+
+    // Runs on the owning lane only.
+    private OrderBook book(int index) {
+        OrderBook book = books[index];
+        if (book == null) {
+            long reference = toTicks(simulation.getSnapshot().getPrice(index));
+            book = new OrderBook(index, reference, levels, this);
+            books[index] = book;
+        }
+        return book;
+    }
+
+    private OrderResult result(OrderBook book, long orderId) {
+        if (orderId == OrderBook.REJECTED) {
+            // reported at 1, 2, 4, 8, ... so a stuck book is visible without flooding the log
+            long rejections = book.getOffLadderRejections();
+            if (rejections > 0 && Long.bitCount(rejections) == 1 && rejections != reportedRejections[book.getAssetIndex()]) {
+                reportedRejections[book.getAssetIndex()] = rejections;
+                System.out.println("ORDER REJECTED OFF LADDER: asset index " + book.getAssetIndex() + ", ladder "
+                        + toPrice(book.getLowestPriceTicks()) + " - " + toPrice(book.getHighestPriceTicks())
+                        + ", " + rejections + " so far");
+            }
+            return new OrderResult(orderId, OrderStatus.REJECTED, 0, 0);
+        }
+
+        long filled = book.getLastFilled();
+        long resting = book.getLastResting();
+        OrderStatus status = resting == 0 ? OrderStatus.FILLED
+                : filled > 0 ? OrderStatus.PARTIALLY_FILLED
+                : OrderStatus.RESTING;
+        return new OrderResult(orderId, status, filled, resting);
+    }
+
+    private List<BookDepth.Level> levels(long[] ticks, long[] sizes, int count) {
+        List<BookDepth.Level> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new BookDepth.Level(toPrice(ticks[i]), sizes[i]));
+        }
+        return result;
+    }
+
+    // Order ids carry the asset index in their top bits, see OrderBook.
+    private int assetIndexOf(long orderId) {
+        long index = orderId >>> 40;
+        return orderId > 0 && index < books.length ? (int) index : -1;
+    }
+
+    private <T> T onLane(int index, Callable<T> task) {
+        try {
+            return lanes[index % lanes.length].submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for order lane", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Order lane failed", e.getCause());
+        }
+    }
+
+    private long toTicks(double price) {
+        return Math.round(price / tickSize);
+    }
+
+    private double toPrice(long priceTicks) {
+        return Math.round(priceTicks * tickSize * 1_000_000) / 1_000_000.0;
+    }
+}
@@ -1,16 +1,29 @@
 package com.hardik.marketsim.service;
 
+import com.hardik.marketsim.config.CorrelationConfig;
 import com.hardik.marketsim.config.MarketAssetConfig;
+import com.hardik.marketsim.config.ReplayConfig;
+import com.hardik.marketsim.config.SimulationEngineConfig;
 import com.hardik.marketsim.model.AssetCategory;
-import com.hardik.marketsim.model.SimulatedAsset;
+import com.hardik.marketsim.model.PriceSnapshot;
+import com.hardik.marketsim.model.TickFrame;
+import com.hardik.marketsim.model.TickStats;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 @Service
 public class PriceSimulationService {
@@ -18,53 +31,225 @@ public class PriceSimulationService {
     private static final int TICKS_PER_DAY = 4680; // 6.5 x 60 x 60 / 5
     private static final int TRADING_DAYS = 252;
 
-    private final Map<Long, SimulatedAsset> assets = new HashMap<>();
-    private final Random random = new Random();
     private final MarketAssetConfig config;
+    private final SimulationEngineConfig engineConfig;
+    private final ReplayConfig replayConfig;
+    private final CorrelationConfig correlationConfig;
 
-    public PriceSimulationService(MarketAssetConfig config) {
+    private final List<Consumer<PriceSnapshot>> tickListeners = new CopyOnWriteArrayList<>();
+
+    // Identifies this run, tick sequences restart at 0 whenever the simulator restarts
+    private final long epoch = System.currentTimeMillis();
+
+    private PriceStore store;
+    private TickEngine engine;
+    private Map<Long, Integer> indexById;
+    private AtomicLongArray tradePrints;
+    private Thread replayThread;
+
+    public PriceSimulationService(MarketAssetConfig config,
+                                  SimulationEngineConfig engineConfig,
+                                  ReplayConfig replayConfig,
+                                  CorrelationConfig correlationConfig) {
         this.config = config;
+        this.engineConfig = engineConfig;
+        this.replayConfig = replayConfig;
+        this.correlationConfig = correlationConfig;
     }
 
     @PostConstruct
     public void init() {
-        for (MarketAssetConfig.AssetConfig cfg : config.getAssets()) {
-            assets.put(
-                    cfg.getId(),
-                    new SimulatedAsset(
-                            cfg.getId(),
-                            cfg.getCategory(),
-                            cfg.getBasePrice()
-                    )
-            );
+        UniverseLoader.Universe universe = loadUniverse();
+        int size = universe.size();
+
+        long[] ids = universe.ids();
+        byte[] categories = universe.categories();
+        double[] prices = universe.prices();
+        Map<Long, Integer> index = new HashMap<>(size * 2);
+
+        for (int i = 0; i < size; i++) {
+            if (index.put(ids[i], i) != null) {
+                throw new IllegalStateException("Duplicate asset id " + ids[i] + " in universe");
+            }
         }
+
+        int categoryCount = AssetCategory.values().length;
+        double[] perTickDrift = new double[categoryCount];
+        double[] perTickVol = new double[categoryCount];
+
+        for (AssetCategory category : AssetCategory.values()) {
+            perTickDrift[category.ordinal()] = getDailyDrift(category) / TICKS_PER_DAY;
+            perTickVol[category.ordinal()] = getDailyVolatility(category) / Math.sqrt(TICKS_PER_DAY);
+        }
+
+        long startTime = replayConfig.isEnabled()
+                ? replayConfig.getStartTime().toEpochMilli()
+                : System.currentTimeMillis();
+
+        indexById = index;
+        tradePrints = new AtomicLongArray(size);
+        store = new PriceStore(ids, categories, prices, startTime, engineConfig.getRetainedSnapshots());
+        CorrelationModel correlation = new CorrelationModel(categories, correlationConfig);
+        engine = new TickEngine(store, perTickDrift, perTickVol, tradePrints, correlation, engineConfig, replayConfig);
     }
 
+    private UniverseLoader.Universe loadUniverse() {
+        String file = config.getUniverseFile();
 
-     // Geometric Brownian Motion scaled to per-tick movement.
+        if (file != null && !file.isBlank()) {
+            long start = System.nanoTime();
+            UniverseLoader.Universe universe = UniverseLoader.load(Path.of(file));
+            System.out.println("UNIVERSE LOADED: " + universe.size() + " assets from " + file + " in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return universe;
+        }
+
+        List<MarketAssetConfig.AssetConfig> assets = config.getAssets();
+        int size = assets.size();
+        long[] ids = new long[size];
+        byte[] categories = new byte[size];
+        double[] prices = new double[size];
 
-    @Scheduled(fixedRate = 5000)
+        for (int i = 0; i < size; i++) {
+            MarketAssetConfig.AssetConfig cfg = assets.get(i);
+            ids[i] = cfg.getId();
+            categories[i] = (byte) cfg.getCategory().ordinal();
+            prices[i] = cfg.getBasePrice();
+        }
+        return new UniverseLoader.Universe(ids, categories, prices);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (replayThread != null) replayThread.interrupt();
+        engine.shutdown();
+    }
+
+
+     // Geometric Brownian Motion scaled to per-tick movement, with correlated Gaussian shocks.
+
+    @Scheduled(fixedRateString = "${market.engine.tick-interval-ms:5000}")
     public void updatePrices() {
+        // replay mode drives its own ticks
+        if (replayConfig.isEnabled()) return;
+
+        advance();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReplay() {
+        if (!replayConfig.isEnabled()) return;
+
+        System.out.println("REPLAY MODE: seed " + replayConfig.getSeed() + ", speed " + replayConfig.getSpeed()
+                + (replayConfig.getMaxTicks() > 0 ? ", " + replayConfig.getMaxTicks() + " ticks" : ""));
+
+        replayThread = new Thread(this::runReplay, "market-replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
 
-        for (SimulatedAsset asset : assets.values()) {
+    private void runReplay() {
 
-            double dailyDrift = getDailyDrift(asset.getCategory());
-            double dailyVolatility = getDailyVolatility(asset.getCategory());
+        double speed = replayConfig.getSpeed();
+        long nanosPerTick = speed > 0 ? (long) (engineConfig.getTickIntervalMs() * 1_000_000L / speed) : 0;
+        long maxTicks = replayConfig.getMaxTicks();
 
+        long started = System.nanoTime();
+        long deadline = started;
+        long ticks = 0;
 
-            double perTickDrift = dailyDrift / TICKS_PER_DAY;
-            double perTickVol = dailyVolatility / Math.sqrt(TICKS_PER_DAY);
+        while (!Thread.currentThread().isInterrupted() && (maxTicks == 0 || ticks < maxTicks)) {
+            if (!advance()) return;
+            ticks++;
 
-            double shock = (random.nextDouble() * 2 - 1) * perTickVol;
+            if (nanosPerTick > 0) {
+                deadline += nanosPerTick;
+                long wait = deadline - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+            }
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.println("REPLAY FINISHED: " + ticks + " ticks in " + String.format("%.2f", seconds) + " s");
+    }
 
-            double returnPerTick = perTickDrift + shock;
+    private boolean advance() {
+        PriceSnapshot snapshot = engine.tick();
+        if (snapshot == null) return false;
 
-            asset.setPrice(asset.getPrice() * (1 + returnPerTick));
+        for (Consumer<PriceSnapshot> listener : tickListeners) {
+            listener.accept(snapshot);
         }
+        return true;
+    }
+
+    // Listeners run on the tick thread and must hand off anything slow.
+    public void onTick(Consumer<PriceSnapshot> listener) {
+        tickListeners.add(listener);
+    }
+
+    public PriceSnapshot getSnapshot() {
+        return store.current();
+    }
+
+    public long[] getIds() {
+        return store.getIds();
+    }
+
+    public byte[] getCategories() {
+        return store.getCategories();
+    }
+
+    // Position of the asset in every snapshot, -1 if it is not simulated.
+    public int indexOf(long assetId) {
+        Integer index = indexById.get(assetId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Records an executed trade. The next tick moves the asset from the last traded
+     * price instead of its previous simulated price, so order flow pushes the market.
+     */
+    public void recordTrade(int index, double price) {
+        tradePrints.set(index, Double.doubleToRawLongBits(price));
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Assets whose price changed after tick since, as of the current tick.
+     * Returns null when nothing moved. Falls back to the full universe when since is
+     * no longer retained, or when epoch names an earlier run of the simulator.
+     * A null epoch trusts since as belonging to this run.
+     */
+    public TickFrame getChangesSince(long since, Long epoch) {
+
+        PriceSnapshot latest = store.current();
+        if (epoch != null && epoch != this.epoch) return new TickFrame(latest, null);
+        if (since == latest.getSeq()) return null;
+
+        PriceSnapshot base = store.find(since);
+        if (base == null) return new TickFrame(latest, null);
+
+        double[] before = base.getPrices();
+        double[] after = latest.getPrices();
+
+        int[] changed = new int[after.length];
+        int count = 0;
+        for (int i = 0; i < after.length; i++) {
+            if (Double.doubleToRawLongBits(after[i]) != Double.doubleToRawLongBits(before[i])) {
+                changed[count++] = i;
+            }
+        }
+
+        if (count == 0) return null;
+        return new TickFrame(latest, count == after.length ? null : Arrays.copyOf(changed, count));
     }
 
-    public Collection<SimulatedAsset> getAllAssets() {
-        return assets.values();
+    public TickStats getTickStats() {
+        return engine.getStats();
     }
 
 
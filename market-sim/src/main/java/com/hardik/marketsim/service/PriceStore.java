@@ -0,0 +1,58 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.model.PriceSnapshot;
+
+/**
+ * Struct-of-arrays price store. Ids and categories are fixed for the lifetime of the
+ * universe; prices move forward one immutable snapshot per tick. Only the tick thread
+ * publishes, readers just grab the current reference. The last few snapshots are kept
+ * in a small ring so clients can ask what changed since a given sequence.
+ */
+public class PriceStore {
+
+    private final long[] ids;
+    private final byte[] categories;
+    private final PriceSnapshot[] recent;
+
+    private volatile PriceSnapshot current;
+
+    public PriceStore(long[] ids, byte[] categories, double[] initialPrices, long initialTimestamp,
+                      int retainedSnapshots) {
+        this.ids = ids;
+        this.categories = categories;
+        this.recent = new PriceSnapshot[Math.max(1, retainedSnapshots)];
+        this.current = new PriceSnapshot(0, initialTimestamp, ids, categories, initialPrices);
+        this.recent[0] = current;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public byte[] getCategories() {
+        return categories;
+    }
+
+    public PriceSnapshot current() {
+        return current;
+    }
+
+    // The caller hands over ownership of prices and must not touch the array afterwards.
+    public PriceSnapshot publish(double[] prices, long timestamp) {
+        PriceSnapshot next = new PriceSnapshot(current.getSeq() + 1, timestamp, ids, categories, prices);
+        recent[(int) (next.getSeq() % recent.length)] = next;
+        current = next;
+        return next;
+    }
+
+    // The snapshot for seq if it is still retained, otherwise null.
+    public PriceSnapshot find(long seq) {
+        if (seq < 0) return null;
+        PriceSnapshot snapshot = recent[(int) (seq % recent.length)];
+        return snapshot != null && snapshot.getSeq() == seq ? snapshot : null;
+    }
+}
@@ -0,0 +1,222 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.config.ReplayConfig;
+import com.hardik.marketsim.config.SimulationEngineConfig;
+import com.hardik.marketsim.model.PriceSnapshot;
+import com.hardik.marketsim.model.TickStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Splits the asset universe into fixed-size shards and advances them on a worker pool.
+ * Each shard owns its RNG so workers never contend on a shared Random, and tick() only
+ * publishes once every shard is done (the per-tick barrier). Shards read the previous
+ * snapshot and write into a fresh price array, so the published tick is never mutated.
+ *
+ * A tick runs in two phases: every shard draws its Gaussians, then (after a barrier, since
+ * a correlated shock can depend on draws owned by other shards) every shard correlates
+ * its rows and moves its prices.
+ *
+ * In replay mode the shard RNGs are split from a fixed seed and ticks are stamped with a
+ * simulated clock, so a run is reproducible for a given seed, universe and shard size
+ * regardless of the worker count.
+ *
+ * tradePrints holds the raw bits of the last trade per asset since the previous tick (0 when
+ * none). A shard consumes it and uses that price as the base for the asset's next move.
+ */
+public class TickEngine {
+
+    private final PriceStore store;
+    private final byte[] categories;
+    private final double[] perTickDrift;   // indexed by category ordinal
+    private final double[] perTickVol;     // indexed by category ordinal
+    private final AtomicLongArray tradePrints;
+    private final CorrelationModel correlation;
+    private final SplittableRandom factorRandom;
+    private final List<Callable<Void>> drawPhase = new ArrayList<>();
+    private final List<Callable<Void>> movePhase = new ArrayList<>();
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final long tickBudgetNanos;
+    private final long tickIntervalMs;
+    private final boolean simulatedClock;
+    private final long clockStartMs;
+
+    // reused every tick, each shard only writes its own range
+    private final double[] gaussians;
+    private final double[] shocks;
+
+    // handed to the shards for the duration of one tick
+    private double[] source;
+    private double[] target;
+
+    // written by the scheduler thread only, read by the stats endpoint
+    private volatile long tickCount;
+    private volatile long overrunCount;
+    private volatile long lastTickNanos;
+    private volatile long maxTickNanos;
+
+    public TickEngine(PriceStore store,
+                      double[] perTickDrift,
+                      double[] perTickVol,
+                      AtomicLongArray tradePrints,
+                      CorrelationModel correlation,
+                      SimulationEngineConfig config,
+                      ReplayConfig replay) {
+
+        this.store = store;
+        this.categories = store.getCategories();
+        this.perTickDrift = perTickDrift;
+        this.perTickVol = perTickVol;
+        this.tradePrints = tradePrints;
+        this.correlation = correlation;
+        this.tickIntervalMs = config.getTickIntervalMs();
+        this.simulatedClock = replay.isEnabled();
+        this.clockStartMs = replay.getStartTime().toEpochMilli();
+
+        // in replay the wall-clock budget shrinks with the speed factor, 0 means unbounded
+        this.tickBudgetNanos = !replay.isEnabled() ? tickIntervalMs * 1_000_000L
+                : replay.getSpeed() > 0 ? (long) (tickIntervalMs * 1_000_000L / replay.getSpeed())
+                : Long.MAX_VALUE;
+
+        int shardSize = Math.max(1, config.getShardSize());
+        SplittableRandom master = replay.isEnabled() ? new SplittableRandom(replay.getSeed()) : new SplittableRandom();
+        int size = store.size();
+        for (int from = 0; from < size; from += shardSize) {
+            Shard shard = new Shard(from, Math.min(from + shardSize, size), master.split());
+            drawPhase.add(shard::draw);
+            movePhase.add(shard::move);
+        }
+        this.factorRandom = master.split();
+        this.gaussians = new double[size];
+        this.shocks = new double[size];
+
+        this.workerCount = Math.max(1, Math.min(config.getWorkers(), drawPhase.size()));
+        AtomicInteger threadNo = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "tick-worker-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Returns the published snapshot, or null if the tick was interrupted.
+    public PriceSnapshot tick() {
+
+        long start = System.nanoTime();
+
+        PriceSnapshot previous = store.current();
+        source = previous.getPrices();
+        target = new double[source.length];
+
+        if (!runPhase(drawPhase)) return null;
+        correlation.prepare(factorRandom);
+        if (!runPhase(movePhase)) return null;
+
+        long timestamp = simulatedClock
+                ? clockStartMs + (previous.getSeq() + 1) * tickIntervalMs
+                : System.currentTimeMillis();
+        PriceSnapshot published = store.publish(target, timestamp);
+        source = null;
+        target = null;
+
+        long elapsed = System.nanoTime() - start;
+        lastTickNanos = elapsed;
+        if (elapsed > maxTickNanos) maxTickNanos = elapsed;
+        tickCount++;
+
+        if (elapsed > tickBudgetNanos) {
+            overrunCount++;
+            System.out.println("TICK OVERRUN: " + elapsed / 1_000_000 + " ms for "
+                    + store.size() + " assets (budget " + tickBudgetNanos / 1_000_000.0 + " ms)");
+        }
+        return published;
+    }
+
+    public TickStats getStats() {
+        return new TickStats(
+                tickCount,
+                overrunCount,
+                lastTickNanos / 1_000_000.0,
+                maxTickNanos / 1_000_000.0,
+                store.size(),
+                drawPhase.size(),
+                workerCount
+        );
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // Runs one task per shard and waits for all of them. Returns false if interrupted.
+    private boolean runPhase(List<Callable<Void>> tasks) {
+        try {
+            if (tasks.size() == 1) {
+                tasks.get(0).call();
+                return true;
+            }
+            for (Future<Void> f : workers.invokeAll(tasks)) {
+                f.get();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Shard failed during tick", e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException("Shard failed during tick", e);
+        }
+    }
+
+    private final class Shard {
+
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        Shard(int from, int to, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        Void draw() {
+            for (int i = from; i < to; i++) {
+                gaussians[i] = random.nextGaussian();
+            }
+            return null;
+        }
+
+        Void move() {
+            correlation.correlate(gaussians, shocks, from, to);
+
+            double[] in = source;
+            double[] out = target;
+            for (int i = from; i < to; i++) {
+                int c = categories[i];
+
+                double returnPerTick = perTickDrift[c] + shocks[i] * perTickVol[c];
+
+                // read before swapping so untraded assets never pay for a write
+                double base = in[i];
+                if (tradePrints.get(i) != 0) {
+                    base = Double.longBitsToDouble(tradePrints.getAndSet(i, 0));
+                }
+
+                out[i] = base * (1 + returnPerTick);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.model.PriceSnapshot;
+import com.hardik.marketsim.model.TickFrame;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes every published tick to SSE subscribers.
+ * Each subscriber has a single pending slot: if it is still writing an older tick when a
+ * new one arrives, the older one is dropped and only the latest is sent (conflation),
+ * so a slow consumer never holds up the tick thread or the other subscribers.
+ */
+@Service
+public class TickFeedService {
+
+    private static final int SENDER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    private final PriceSimulationService simulation;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders;
+
+    public TickFeedService(PriceSimulationService simulation) {
+        this.simulation = simulation;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(SENDER_THREADS, r -> {
+            Thread t = new Thread(r, "tick-feed-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        simulation.onTick(this::publish);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+    }
+
+    public SseEmitter subscribe(List<Long> assetIds) {
+
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, resolve(assetIds));
+
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // start every subscriber with the full current state
+        subscriber.offer(simulation.getSnapshot());
+        return emitter;
+    }
+
+    private void publish(PriceSnapshot snapshot) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(snapshot);
+        }
+    }
+
+    private int[] resolve(List<Long> assetIds) {
+        if (assetIds == null || assetIds.isEmpty()) return null;
+
+        return assetIds.stream()
+                .mapToInt(simulation::indexOf)
+                .filter(i -> i >= 0)
+                .toArray();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final int[] indices;
+        private final AtomicReference<PriceSnapshot> pending = new AtomicReference<>();
+
+        Subscriber(SseEmitter emitter, int[] indices) {
+            this.emitter = emitter;
+            this.indices = indices;
+        }
+
+        void offer(PriceSnapshot snapshot) {
+            // only schedule a drain when the slot was empty, otherwise the running drain picks it up
+            if (pending.getAndSet(snapshot) == null) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            PriceSnapshot snapshot = pending.get();
+            while (true) {
+                try {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(snapshot.getSeq()))
+                            .name("tick")
+                            .data(new TickFrame(snapshot, indices), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+
+                if (pending.compareAndSet(snapshot, null)) return;
+                snapshot = pending.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.config.JournalConfig;
+import com.hardik.marketsim.model.PriceSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of every published tick, written into memory-mapped segment files.
+ *
+ * A segment is a 24 byte header (magic, asset count, first seq) followed by fixed-size
+ * records: long seq | long timestamp | double[assetCount] prices, all little-endian.
+ * Because records are fixed-size and sequences contiguous, a tick's position is computed
+ * from the segment's first seq, the segment index is just a sorted map of first seqs.
+ * The seq is written last and doubles as the commit marker for readers.
+ *
+ * There is a single writer thread; readers may run concurrently against committed records.
+ * The journal covers the current run only, old segments are cleared on startup.
+ */
+public class TickJournal {
+
+    private static final int MAGIC = 0x544A4E31; // TJN1
+    private static final int HEADER_BYTES = 24;
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final long[] ids;
+    private final byte[] categories;
+    private final int recordBytes;
+    private final int ticksPerSegment;
+    private final int maxSegments;
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private Segment head;
+
+    private volatile long lastSeq = -1;
+
+    public TickJournal(JournalConfig config, long[] ids, byte[] categories) {
+        this.directory = Path.of(config.getDirectory());
+        this.ids = ids;
+        this.categories = categories;
+        this.recordBytes = 16 + 8 * ids.length;
+        this.ticksPerSegment = (int) Math.max(1,
+                Math.min(Integer.MAX_VALUE - HEADER_BYTES, config.getSegmentBytes() - HEADER_BYTES) / recordBytes);
+        this.maxSegments = config.getMaxSegments();
+
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> old = Files.list(directory)) {
+                old.filter(isSegment()).forEach(TickJournal::delete);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare tick journal in " + directory, e);
+        }
+    }
+
+    public long getFirstSeq() {
+        Map.Entry<Long, Segment> first = segments.firstEntry();
+        return first == null ? -1 : first.getKey();
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    // Called from the journal writer thread only, in sequence order.
+    public void append(PriceSnapshot snapshot) {
+
+        long seq = snapshot.getSeq();
+        if (head == null || seq >= head.baseSeq + ticksPerSegment || seq < head.baseSeq) {
+            roll(seq);
+        }
+
+        int position = HEADER_BYTES + (int) (seq - head.baseSeq) * recordBytes;
+        MappedByteBuffer buffer = head.buffer;
+
+        buffer.slice(position + 16, recordBytes - 16)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asDoubleBuffer()
+                .put(snapshot.getPrices());
+        buffer.putLong(position + 8, snapshot.getTimestamp());
+        buffer.putLong(position, seq);
+
+        lastSeq = seq;
+    }
+
+    /**
+     * Feeds journaled ticks from fromSeq onwards to the consumer, at most limit of them.
+     * Returns the number of ticks replayed. Ticks that have already been evicted are skipped.
+     */
+    public int replay(long fromSeq, int limit, Consumer<PriceSnapshot> consumer) {
+
+        long seq = Math.max(fromSeq, getFirstSeq());
+        long last = lastSeq;
+        int replayed = 0;
+
+        while (seq <= last && replayed < limit) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(seq);
+            if (entry == null) break;
+
+            Segment segment = entry.getValue();
+            int position = HEADER_BYTES + (int) (seq - segment.baseSeq) * recordBytes;
+            if (seq - segment.baseSeq >= ticksPerSegment || segment.buffer.getLong(position) != seq) break;
+
+            double[] prices = new double[ids.length];
+            segment.buffer.slice(position + 16, recordBytes - 16)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asDoubleBuffer()
+                    .get(prices);
+            long timestamp = segment.buffer.getLong(position + 8);
+
+            consumer.accept(new PriceSnapshot(seq, timestamp, ids, categories, prices));
+            replayed++;
+            seq++;
+        }
+        return replayed;
+    }
+
+    public void close() {
+        segments.values().forEach(s -> s.buffer.force());
+    }
+
+    private void roll(long baseSeq) {
+
+        if (head != null) head.buffer.force();
+
+        Path file = directory.resolve(String.format("ticks-%020d%s", baseSeq, SUFFIX));
+        long size = HEADER_BYTES + (long) ticksPerSegment * recordBytes;
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, ids.length);
+            buffer.putLong(8, baseSeq);
+
+            head = new Segment(baseSeq, file, buffer);
+            segments.put(baseSeq, head);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment " + file, e);
+        }
+
+        while (maxSegments > 0 && segments.size() > maxSegments) {
+            Segment oldest = segments.pollFirstEntry().getValue();
+            delete(oldest.file);
+        }
+    }
+
+    private static Predicate<Path> isSegment() {
+        return p -> p.getFileName().toString().endsWith(SUFFIX);
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.out.println("COULD NOT DELETE JOURNAL SEGMENT " + file + ": " + e.getMessage());
+        }
+    }
+
+    private record Segment(long baseSeq, Path file, MappedByteBuffer buffer) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.config.JournalConfig;
+import com.hardik.marketsim.model.PriceSnapshot;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Journals every tick when market.journal.enabled is set. Appends are handed to a single
+ * writer thread so the tick loop only pays for a queue offer, never for the mapped write.
+ * The queue is bounded: when the writer falls queue-capacity ticks behind, the tick loop
+ * waits for it rather than dropping ticks, since the journal has to hold every one of them.
+ */
+@Service
+public class TickJournalService {
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    private final TickJournal journal;
+    private final ThreadPoolExecutor writer;
+
+    public TickJournalService(JournalConfig config, PriceSimulationService simulation) {
+
+        if (!config.isEnabled()) {
+            this.journal = null;
+            this.writer = null;
+            return;
+        }
+
+        PriceSnapshot initial = simulation.getSnapshot();
+        this.journal = new TickJournal(config, simulation.getIds(), simulation.getCategories());
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "tick-journal");
+                    t.setDaemon(true);
+                    return t;
+                },
+                waitForRoom());
+
+        writer.execute(() -> journal.append(initial));
+        simulation.onTick(snapshot -> writer.execute(() -> journal.append(snapshot)));
+
+        System.out.println("JOURNALING TICKS TO " + config.getDirectory());
+    }
+
+    // Blocks the submitting tick thread until the writer frees a slot; drops ticks after shutdown
+    private static RejectedExecutionHandler waitForRoom() {
+        return (task, executor) -> {
+            if (executor.isShutdown()) return;
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    // Lets the writer drain what is queued before the segments are forced to disk
+    @PreDestroy
+    public void shutdown() {
+        if (journal == null) return;
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("TICK JOURNAL: writer did not drain in " + SHUTDOWN_WAIT_SECONDS
+                        + " s, " + writer.shutdownNow().size() + " ticks not journaled");
+                writer.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    public long getFirstSeq() {
+        return journal.getFirstSeq();
+    }
+
+    public long getLastSeq() {
+        return journal.getLastSeq();
+    }
+
+    public int replay(long fromSeq, int limit, Consumer<PriceSnapshot> consumer) {
+        return journal.replay(fromSeq, limit, consumer);
+    }
+}
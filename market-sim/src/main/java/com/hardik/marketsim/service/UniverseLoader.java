@@ -0,0 +1,275 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.model.AssetCategory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a large asset universe straight into the simulator's arrays, without binding a
+ * bean per asset. The file is memory-mapped and parsed in one pass.
+ *
+ * Two formats are accepted, told apart by the first four bytes:
+ *
+ * CSV, one asset per line: id,category,basePrice (e.g. 17,MF_MID,541.80). Blank lines,
+ * lines starting with # and a header line starting with "id" are skipped. Anything after
+ * the price other than spaces is an error.
+ *
+ * Binary, little-endian and columnar so each column is one bulk copy:
+ * int magic "UNV1" | int count | long[count] ids | double[count] prices | byte[count] category ordinals
+ *
+ * In both formats every base price has to be finite and positive.
+ */
+public final class UniverseLoader {
+
+    public static final int MAGIC = 0x31564E55; // "UNV1" read little-endian
+    public static final int HEADER_BYTES = 8;
+
+    private static final byte[][] CATEGORY_NAMES = Arrays.stream(AssetCategory.values())
+            .map(c -> c.name().getBytes(StandardCharsets.US_ASCII))
+            .toArray(byte[][]::new);
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    public record Universe(long[] ids, byte[] categories, double[] prices) {
+
+        public int size() {
+            return ids.length;
+        }
+    }
+
+    private UniverseLoader() {
+    }
+
+    public static Universe load(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Universe file too large: " + file);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            return length >= HEADER_BYTES && buffer.getInt(0) == MAGIC
+                    ? readBinary(buffer, file)
+                    : readCsv(buffer, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read universe file " + file, e);
+        }
+    }
+
+    private static Universe readBinary(ByteBuffer buffer, Path file) {
+        int count = buffer.getInt(4);
+        long expected = HEADER_BYTES + 17L * count;
+        if (count < 0 || buffer.limit() < expected) {
+            throw new IllegalStateException("Truncated universe file " + file + ": " + count + " assets declared");
+        }
+
+        long[] ids = new long[count];
+        double[] prices = new double[count];
+        byte[] categories = new byte[count];
+
+        buffer.position(HEADER_BYTES);
+        buffer.asLongBuffer().get(ids);
+        buffer.position(HEADER_BYTES + 8 * count);
+        buffer.asDoubleBuffer().get(prices);
+        buffer.position(HEADER_BYTES + 16 * count);
+        buffer.get(categories);
+
+        for (int i = 0; i < count; i++) {
+            if (categories[i] < 0 || categories[i] >= CATEGORY_NAMES.length) {
+                throw new IllegalStateException("Unknown category ordinal " + categories[i] + " for asset " + ids[i]);
+            }
+            if (!isValidPrice(prices[i])) {
+                throw new IllegalStateException("Bad base price " + prices[i] + " for asset " + ids[i] + " in " + file);
+            }
+        }
+        return new Universe(ids, categories, prices);
+    }
+
+    private static Universe readCsv(ByteBuffer buffer, Path file) {
+        // typical rows are 15-25 bytes, grow if the guess is short
+        int capacity = Math.max(16, buffer.limit() / 16);
+        long[] ids = new long[capacity];
+        byte[] categories = new byte[capacity];
+        double[] prices = new double[capacity];
+
+        CsvCursor in = new CsvCursor(buffer);
+        int count = 0;
+        int line = 0;
+
+        while (in.hasMore()) {
+            line++;
+            int first = in.peek();
+            if (first == '\n' || first == '\r' || first == '#' || first == 'i' || first == 'I') {
+                in.skipLine();
+                continue;
+            }
+
+            if (count == ids.length) {
+                int grown = ids.length * 2;
+                ids = Arrays.copyOf(ids, grown);
+                categories = Arrays.copyOf(categories, grown);
+                prices = Arrays.copyOf(prices, grown);
+            }
+
+            try {
+                ids[count] = in.readLong();
+                categories[count] = in.readCategory();
+                prices[count] = in.readDouble();
+                in.endRow();
+                if (!isValidPrice(prices[count])) {
+                    throw new IllegalArgumentException("price must be finite and positive: " + prices[count]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Bad universe row at " + file + ":" + line + " - " + e.getMessage());
+            }
+            count++;
+            in.skipLine();
+        }
+
+        return new Universe(
+                Arrays.copyOf(ids, count),
+                Arrays.copyOf(categories, count),
+                Arrays.copyOf(prices, count)
+        );
+    }
+
+    private static boolean isValidPrice(double price) {
+        return price > 0 && price < Double.POSITIVE_INFINITY;
+    }
+
+    // Byte-level field reader, each read consumes the field and its trailing separator.
+    private static final class CsvCursor {
+
+        private final ByteBuffer buffer;
+        private final int limit;
+        private int pos;
+
+        CsvCursor(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+        }
+
+        boolean hasMore() {
+            return pos < limit;
+        }
+
+        int peek() {
+            return buffer.get(pos);
+        }
+
+        void skipLine() {
+            while (pos < limit && buffer.get(pos++) != '\n') {
+                // consume
+            }
+        }
+
+        long readLong() {
+            skipSpaces();
+            long value = 0;
+            int digits = 0;
+            while (pos < limit) {
+                int b = buffer.get(pos);
+                if (b < '0' || b > '9') break;
+                value = value * 10 + (b - '0');
+                digits++;
+                pos++;
+            }
+            if (digits == 0) throw new IllegalArgumentException("expected an id");
+            endField();
+            return value;
+        }
+
+        byte readCategory() {
+            skipSpaces();
+            int start = pos;
+            while (pos < limit && buffer.get(pos) != ',' && buffer.get(pos) != ' ') pos++;
+            int length = pos - start;
+
+            for (int c = 0; c < CATEGORY_NAMES.length; c++) {
+                byte[] name = CATEGORY_NAMES[c];
+                if (name.length == length && matches(start, name)) {
+                    endField();
+                    return (byte) c;
+                }
+            }
+            byte[] raw = new byte[length];
+            buffer.get(start, raw);
+            throw new IllegalArgumentException("unknown category " + new String(raw, StandardCharsets.US_ASCII));
+        }
+
+        // Plain decimals are assembled from an integer mantissa, anything else goes to Double.parseDouble.
+        double readDouble() {
+            skipSpaces();
+            int start = pos;
+            long mantissa = 0;
+            int digits = 0;
+            int scale = -1;
+
+            while (pos < limit) {
+                int b = buffer.get(pos);
+                if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (scale >= 0) scale++;
+                } else if (b == '.' && scale < 0) {
+                    scale = 0;
+                } else {
+                    break;
+                }
+                pos++;
+            }
+
+            int end = pos;
+            if ((end < limit && isNumberTail(buffer.get(end))) || digits > 15) {
+                while (pos < limit && buffer.get(pos) != '\n' && buffer.get(pos) != '\r' && buffer.get(pos) != ',') pos++;
+                byte[] raw = new byte[pos - start];
+                buffer.get(start, raw);
+                return Double.parseDouble(new String(raw, StandardCharsets.US_ASCII).trim());
+            }
+            if (digits == 0) throw new IllegalArgumentException("expected a price");
+            return scale > 0 ? mantissa / POW10[scale] : mantissa;
+        }
+
+        // Only spaces may follow the last field of a row
+        void endRow() {
+            skipSpaces();
+            if (pos < limit && buffer.get(pos) != '\n' && buffer.get(pos) != '\r') {
+                throw new IllegalArgumentException("unexpected '" + (char) buffer.get(pos) + "' after the price");
+            }
+        }
+
+        private boolean isNumberTail(byte b) {
+            return b == 'e' || b == 'E' || b == '-' || b == '+';
+        }
+
+        private boolean matches(int start, byte[] name) {
+            for (int i = 0; i < name.length; i++) {
+                if (buffer.get(start + i) != name[i]) return false;
+            }
+            return true;
+        }
+
+        private void skipSpaces() {
+            while (pos < limit && buffer.get(pos) == ' ') pos++;
+        }
+
+        private void endField() {
+            skipSpaces();
+            if (pos < limit && buffer.get(pos) == ',') pos++;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.hardik.marketsim.orderbook;
+
+import java.util.SplittableRandom;
+
+/**
+ * Single-thread throughput of one book under a mixed order flow: submits around the mid
+ * (some crossing the spread), cancels and replaces of live orders. Not run by the test task,
+ * start it with main() and an optional event count.
+ */
+public class OrderBookBenchmark {
+
+    private static final int SUBMIT = 0;
+    private static final int CANCEL = 1;
+    private static final int REPLACE = 2;
+
+    public static void main(String[] args) {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        long mid = 50_000;
+
+        // generate the flow up front so the timed loop only measures the book
+        SplittableRandom random = new SplittableRandom(7);
+        byte[] type = new byte[events];
+        boolean[] buy = new boolean[events];
+        long[] price = new long[events];
+        long[] quantity = new long[events];
+        int[] pick = new int[events];
+
+        for (int i = 0; i < events; i++) {
+            int roll = random.nextInt(100);
+            type[i] = (byte) (roll < 50 ? SUBMIT : roll < 85 ? CANCEL : REPLACE);
+            buy[i] = random.nextBoolean();
+            // mostly passive, about one in ten crosses the spread
+            int offset = random.nextInt(-2, 20);
+            price[i] = buy[i] ? mid - offset : mid + offset;
+            quantity[i] = 1 + random.nextInt(100);
+            pick[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+
+        long[] trades = new long[1];
+        TradeListener listener = (asset, ticks, qty) -> trades[0]++;
+
+        for (int round = 0; round < 5; round++) {
+            OrderBook book = new OrderBook(0, mid, 4096, listener);
+            long[] live = new long[1 << 20];
+            int liveCount = 0;
+            trades[0] = 0;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                switch (type[i]) {
+                    case SUBMIT -> {
+                        long id = book.submit(buy[i], price[i], quantity[i]);
+                        if (book.getLastResting() > 0 && liveCount < live.length) live[liveCount++] = id;
+                    }
+                    case CANCEL -> {
+                        if (liveCount == 0) break;
+                        int slot = pick[i] % liveCount;
+                        book.cancel(live[slot]);
+                        live[slot] = live[--liveCount];
+                    }
+                    default -> {
+                        if (liveCount == 0) break;
+                        int slot = pick[i] % liveCount;
+                        if (book.replace(live[slot], price[i], quantity[i]) == OrderBook.REJECTED
+                                || book.getLastResting() == 0) {
+                            live[slot] = live[--liveCount];
+                        }
+                    }
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("round %d: %,d events in %d ms = %,.0f events/s, %,d trades, %,d resting%n",
+                    round, events, elapsed / 1_000_000, events * 1e9 / elapsed, trades[0], book.getRestingOrderCount());
+        }
+    }
+}
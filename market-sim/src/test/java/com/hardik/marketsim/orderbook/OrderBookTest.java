@@ -0,0 +1,297 @@
+package com.hardik.marketsim.orderbook;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderBookTest {
+
+    private static final long MID = 1_000;
+    private static final int LEVELS = 64;
+
+    // fills as {price, quantity}, in the order the book reported them
+    private final List<long[]> trades = new ArrayList<>();
+    private OrderBook book;
+
+    @BeforeEach
+    void setUp() {
+        trades.clear();
+        book = new OrderBook(3, MID, LEVELS, (asset, ticks, qty) -> trades.add(new long[]{ticks, qty}));
+    }
+
+    @Test
+    void restsWhenNothingCrosses() {
+        long bid = book.submit(true, MID - 1, 10);
+        long ask = book.submit(false, MID + 1, 5);
+
+        assertEquals(10, book.getLastResting() + 5);
+        assertTrue(book.isResting(bid));
+        assertTrue(book.isResting(ask));
+        assertEquals(MID - 1, book.getBestBidTicks());
+        assertEquals(MID + 1, book.getBestAskTicks());
+        assertTrue(trades.isEmpty());
+    }
+
+    @Test
+    void orderIdsCarryTheAssetIndex() {
+        long id = book.submit(true, MID, 1);
+        assertEquals(3, id >>> 40);
+    }
+
+    @Test
+    void matchesBetterPricesFirstThenEarlierOrders() {
+        long first = book.submit(false, MID + 2, 5);
+        long second = book.submit(false, MID + 2, 5);
+        book.submit(false, MID + 1, 5);
+
+        book.submit(true, MID + 2, 8);
+
+        assertEquals(8, book.getLastFilled());
+        assertEquals(0, book.getLastResting());
+        assertEquals(2, trades.size());
+        assertEquals(MID + 1, trades.get(0)[0]);
+        assertEquals(5, trades.get(0)[1]);
+        assertEquals(MID + 2, trades.get(1)[0]);
+        assertEquals(3, trades.get(1)[1]);
+
+        // the first order at MID + 2 took the fill, the second is untouched behind it
+        book.submit(true, MID + 2, 2);
+        assertFalse(book.isResting(first));
+        assertTrue(book.isResting(second));
+        assertEquals(MID + 2, trades.get(2)[0]);
+        assertEquals(2, trades.get(2)[1]);
+    }
+
+    @Test
+    void tradesAtTheRestingPrice() {
+        book.submit(true, MID, 10);
+        book.submit(false, MID - 5, 4);
+
+        assertEquals(MID, trades.get(0)[0]);
+        assertEquals(MID, book.getLastTradeTicks());
+    }
+
+    @Test
+    void partialFillRestsTheRemainder() {
+        book.submit(false, MID, 3);
+        long id = book.submit(true, MID + 1, 10);
+
+        assertEquals(3, book.getLastFilled());
+        assertEquals(7, book.getLastResting());
+        assertTrue(book.isResting(id));
+        assertEquals(MID + 1, book.getBestBidTicks());
+        assertEquals(-1, book.getBestAskTicks());
+        assertLevel(true, MID + 1, 7);
+    }
+
+    @Test
+    void partiallyFilledRestingOrderKeepsItsPlace() {
+        long first = book.submit(true, MID, 10);
+        long second = book.submit(true, MID, 10);
+
+        book.submit(false, MID, 4);
+        book.submit(false, MID, 6);
+
+        assertFalse(book.isResting(first));
+        assertTrue(book.isResting(second));
+        assertLevel(true, MID, 10);
+    }
+
+    @Test
+    void cancelRemovesTheOrderAndItsQuantity() {
+        long a = book.submit(true, MID, 10);
+        long b = book.submit(true, MID - 1, 5);
+
+        assertTrue(book.cancel(a));
+        assertFalse(book.cancel(a));
+        assertFalse(book.isResting(a));
+        assertEquals(MID - 1, book.getBestBidTicks());
+        assertEquals(1, book.getRestingOrderCount());
+
+        assertTrue(book.cancel(b));
+        assertEquals(-1, book.getBestBidTicks());
+        assertEquals(0, book.getRestingOrderCount());
+    }
+
+    @Test
+    void cancelInTheMiddleOfAQueueKeepsTheRestInOrder() {
+        long a = book.submit(false, MID, 1);
+        long b = book.submit(false, MID, 1);
+        long c = book.submit(false, MID, 1);
+
+        book.cancel(b);
+        book.submit(true, MID, 1);
+        assertFalse(book.isResting(a));
+        assertTrue(book.isResting(c));
+
+        book.submit(true, MID, 1);
+        assertFalse(book.isResting(c));
+        assertEquals(-1, book.getBestAskTicks());
+    }
+
+    @Test
+    void quantityDecreaseKeepsQueuePosition() {
+        long a = book.submit(true, MID, 10);
+        long b = book.submit(true, MID, 10);
+
+        assertEquals(a, book.replace(a, MID, 4));
+        assertEquals(4, book.getLastResting());
+        assertLevel(true, MID, 14);
+
+        book.submit(false, MID, 4);
+        assertFalse(book.isResting(a));
+        assertTrue(book.isResting(b));
+    }
+
+    @Test
+    void quantityIncreaseLosesQueuePosition() {
+        long a = book.submit(true, MID, 10);
+        long b = book.submit(true, MID, 10);
+
+        assertEquals(a, book.replace(a, MID, 12));
+        assertLevel(true, MID, 22);
+
+        book.submit(false, MID, 10);
+        assertTrue(book.isResting(a));
+        assertFalse(book.isResting(b));
+    }
+
+    @Test
+    void priceChangeRequeuesAndCanTrade() {
+        book.submit(false, MID + 2, 5);
+        long bid = book.submit(true, MID, 8);
+
+        assertEquals(bid, book.replace(bid, MID + 2, 8));
+        assertEquals(5, book.getLastFilled());
+        assertEquals(3, book.getLastResting());
+        assertTrue(book.isResting(bid));
+        assertEquals(MID + 2, book.getBestBidTicks());
+        assertLevel(true, MID + 2, 3);
+        assertEquals(0, countLevels(true, MID));
+    }
+
+    @Test
+    void replaceRejectsUnknownOrdersAndBadQuantities() {
+        long id = book.submit(true, MID, 5);
+
+        assertEquals(OrderBook.REJECTED, book.replace(id + 1, MID, 5));
+        assertEquals(OrderBook.REJECTED, book.replace(id, MID, 0));
+        assertTrue(book.isResting(id));
+        assertEquals(OrderBook.REJECTED, book.submit(true, MID, 0));
+        assertEquals(OrderBook.REJECTED, book.submit(true, 0, 5));
+    }
+
+    @Test
+    void filledAndCancelledOrdersGoBackToThePool() {
+        for (int round = 0; round < 10_000; round++) {
+            long id = book.submit(true, MID, 5);
+            book.submit(false, MID + 1, 5);
+            book.cancel(id);
+            book.submit(true, MID + 1, 5);
+        }
+        assertEquals(0, book.getRestingOrderCount());
+        assertEquals(10_000, book.getTradeCount());
+        assertEquals(-1, book.getBestBidTicks());
+        assertEquals(-1, book.getBestAskTicks());
+    }
+
+    @Test
+    void ladderSlidesToAPriceAwayFromAnEmptyBook() {
+        long far = MID + LEVELS * 10;
+        long id = book.submit(true, far, 5);
+
+        assertTrue(book.isResting(id));
+        assertEquals(far, book.getBestBidTicks());
+        assertEquals(1, book.getSlideCount());
+        assertTrue(far >= book.getLowestPriceTicks() && far <= book.getHighestPriceTicks());
+    }
+
+    @Test
+    void ladderSlidesAroundRestingOrders() {
+        long low = book.submit(true, MID - 10, 5);
+        long high = book.submit(false, MID + 10, 5);
+
+        long above = MID + 40;     // past the initial ladder, within one ladder of the bid
+        long id = book.submit(false, above, 7);
+
+        assertTrue(book.isResting(id));
+        assertEquals(1, book.getSlideCount());
+        assertEquals(MID - 10, book.getBestBidTicks());
+        assertEquals(MID + 10, book.getBestAskTicks());
+        assertEquals(MID - 10, book.getLowestPriceTicks());
+
+        // queues and prices survive the slide
+        book.submit(true, above, 12);
+        assertFalse(book.isResting(high));
+        assertFalse(book.isResting(id));
+        assertEquals(MID + 10, trades.get(0)[0]);
+        assertEquals(above, trades.get(1)[0]);
+        assertTrue(book.isResting(low));
+        assertTrue(book.cancel(low));
+    }
+
+    @Test
+    void orderTooFarFromRestingOrdersIsRejectedAndCounted() {
+        book.submit(true, MID, 5);
+
+        assertEquals(OrderBook.REJECTED, book.submit(false, MID + LEVELS, 5));
+        assertEquals(1, book.getOffLadderRejections());
+        assertEquals(0, book.getSlideCount());
+
+        assertNotEquals(OrderBook.REJECTED, book.submit(false, MID + LEVELS - 1, 5));
+        assertEquals(1, book.getOffLadderRejections());
+    }
+
+    @Test
+    void followsADriftingPrice() {
+        long price = MID;
+        for (int i = 0; i < 1_000; i++) {
+            price += 3;
+            book.submit(false, price, 1);
+            book.submit(true, price, 1);
+        }
+        assertEquals(0, book.getOffLadderRejections());
+        assertEquals(1_000, book.getTradeCount());
+        assertEquals(price, book.getLastTradeTicks());
+    }
+
+    private void assertLevel(boolean bids, long priceTicks, long quantity) {
+        long[] bidTicks = new long[LEVELS];
+        long[] bidSizes = new long[LEVELS];
+        long[] askTicks = new long[LEVELS];
+        long[] askSizes = new long[LEVELS];
+        long counts = book.depth(LEVELS, bidTicks, bidSizes, askTicks, askSizes);
+
+        int n = bids ? (int) counts : (int) (counts >>> 32);
+        long[] ticks = bids ? bidTicks : askTicks;
+        long[] sizes = bids ? bidSizes : askSizes;
+        for (int i = 0; i < n; i++) {
+            if (ticks[i] == priceTicks) {
+                assertEquals(quantity, sizes[i]);
+                return;
+            }
+        }
+        assertEquals(quantity, 0, "no level at " + priceTicks);
+    }
+
+    private int countLevels(boolean bids, long priceTicks) {
+        long[] bidTicks = new long[LEVELS];
+        long[] askTicks = new long[LEVELS];
+        long counts = book.depth(LEVELS, bidTicks, new long[LEVELS], askTicks, new long[LEVELS]);
+
+        int n = bids ? (int) counts : (int) (counts >>> 32);
+        long[] ticks = bids ? bidTicks : askTicks;
+        int found = 0;
+        for (int i = 0; i < n; i++) {
+            if (ticks[i] == priceTicks) found++;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,130 @@
+package com.hardik.marketsim.orderbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class OrderIndexTest {
+
+    @Test
+    void putGetRemove() {
+        OrderIndex index = new OrderIndex(4);
+        Order a = order(1);
+        Order b = order(2);
+
+        index.put(1, a);
+        index.put(2, b);
+        assertSame(a, index.get(1));
+        assertSame(b, index.get(2));
+        assertNull(index.get(3));
+        assertEquals(2, index.size());
+
+        assertSame(a, index.remove(1));
+        assertNull(index.remove(1));
+        assertNull(index.get(1));
+        assertSame(b, index.get(2));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void putReplacesAnExistingKey() {
+        OrderIndex index = new OrderIndex(4);
+        Order b = order(7);
+        index.put(7, order(7));
+        index.put(7, b);
+
+        assertSame(b, index.get(7));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removeInsideACollisionChainKeepsLaterKeysReachable() {
+        OrderIndex index = new OrderIndex(8);   // 16 slots
+        long[] colliding = collidingKeys(16, 6);
+
+        for (long key : colliding) index.put(key, order(key));
+
+        // take out the head, a middle entry and the tail of the chain
+        index.remove(colliding[0]);
+        index.remove(colliding[3]);
+        index.remove(colliding[5]);
+
+        for (int i = 0; i < colliding.length; i++) {
+            Order found = index.get(colliding[i]);
+            if (i == 0 || i == 3 || i == 5) assertNull(found);
+            else assertEquals(colliding[i], found.id);
+        }
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomOperations() {
+        OrderIndex index = new OrderIndex(16);
+        Map<Long, Order> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(11);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    Order order = order(key);
+                    index.put(key, order);
+                    expected.put(key, order);
+                }
+                case 1 -> assertSame(expected.remove(key), index.remove(key));
+                default -> assertSame(expected.get(key), index.get(key));
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        expected.forEach((key, order) -> assertSame(order, index.get(key)));
+    }
+
+    @Test
+    void poolHandsBackReleasedOrdersCleared() {
+        OrderPool pool = new OrderPool(1);
+        Order first = pool.acquire();
+        Order extra = pool.acquire();
+        assertNotSame(first, extra);
+
+        first.id = 42;
+        first.remaining = 5;
+        first.next = extra;
+        pool.release(first);
+        pool.release(extra);
+
+        assertSame(extra, pool.acquire());
+        Order reused = pool.acquire();
+        assertSame(first, reused);
+        assertEquals(0, reused.id);
+        assertEquals(0, reused.remaining);
+        assertNull(reused.next);
+        assertNull(reused.prev);
+    }
+
+    // keys whose home slot is the same in a table of the given capacity
+    private static long[] collidingKeys(int capacity, int count) {
+        long[] keys = new long[count];
+        int home = -1;
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            int slot = (int) (h ^ (h >>> 32)) & (capacity - 1);
+            if (home < 0) home = slot;
+            if (slot == home) keys[found++] = key;
+        }
+        return keys;
+    }
+
+    private static Order order(long id) {
+        Order order = new Order();
+        order.id = id;
+        return order;
+    }
+}
@@ -0,0 +1,157 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.config.CorrelationConfig;
+import com.hardik.marketsim.model.AssetCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CorrelationModelTest {
+
+    private static final long SEED = 42;
+    private static final int SAMPLES = 20_000;
+    private static final double CROSS = 0.20;
+    private static final double TOLERANCE = 0.02;
+
+    // 150 assets over three categories, enough rows to cross the 64-row blocks of the dense form
+    private static final AssetCategory[] USED = {AssetCategory.STOCK, AssetCategory.MF_MID, AssetCategory.GOLD_ETF};
+    private static final int ASSETS = 150;
+
+    @Test
+    void denseFormReproducesConfiguredCorrelations() {
+        CorrelationModel model = new CorrelationModel(categories(), config(ASSETS));
+
+        assertTrue(model.isDense());
+        assertCorrelations(model);
+    }
+
+    @Test
+    void factorFormReproducesConfiguredCorrelations() {
+        CorrelationModel model = new CorrelationModel(categories(), config(0));
+
+        assertFalse(model.isDense());
+        assertCorrelations(model);
+    }
+
+    @Test
+    void shardsProduceTheSameRowsAsOneCall() {
+        CorrelationModel model = new CorrelationModel(categories(), config(ASSETS));
+        double[] z = gaussians(new SplittableRandom(SEED), ASSETS);
+
+        double[] whole = new double[ASSETS];
+        model.correlate(z, whole, 0, ASSETS);
+
+        double[] sharded = new double[ASSETS];
+        model.correlate(z, sharded, 0, 37);
+        model.correlate(z, sharded, 37, 101);
+        model.correlate(z, sharded, 101, ASSETS);
+
+        assertArrayEquals(whole, sharded);
+    }
+
+    @Test
+    void rejectsIntraCorrelationOfOne() {
+        CorrelationConfig config = config(0);
+        config.getIntraCategory().put(AssetCategory.STOCK, 1.0);
+
+        assertThrows(IllegalStateException.class, () -> new CorrelationModel(categories(), config));
+    }
+
+    // Averages the sample correlation over every pair of assets in each pair of categories
+    private void assertCorrelations(CorrelationModel model) {
+        byte[] categories = categories();
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] out = new double[ASSETS];
+        double[][] products = new double[ASSETS][ASSETS];
+
+        for (int s = 0; s < SAMPLES; s++) {
+            double[] z = gaussians(random, ASSETS);
+            model.prepare(random);
+            model.correlate(z, out, 0, ASSETS);
+
+            for (int i = 0; i < ASSETS; i++) {
+                for (int j = 0; j <= i; j++) {
+                    products[i][j] += out[i] * out[j];
+                }
+            }
+        }
+
+        int groups = USED.length;
+        double[][] sum = new double[groups][groups];
+        int[][] pairs = new int[groups][groups];
+
+        for (int i = 0; i < ASSETS; i++) {
+            assertEquals(1.0, products[i][i] / SAMPLES, 0.05, "variance of asset " + i);
+            for (int j = 0; j < i; j++) {
+                double correlation = products[i][j] / Math.sqrt(products[i][i] * products[j][j]);
+                int a = group(categories[i]);
+                int b = group(categories[j]);
+                sum[a][b] += correlation;
+                pairs[a][b]++;
+                if (a != b) {
+                    sum[b][a] += correlation;
+                    pairs[b][a]++;
+                }
+            }
+        }
+
+        Map<AssetCategory, Double> intra = intra();
+        for (int a = 0; a < groups; a++) {
+            for (int b = 0; b < groups; b++) {
+                double expected = a == b ? intra.get(USED[a]) : CROSS;
+                assertEquals(expected, sum[a][b] / pairs[a][b], TOLERANCE, USED[a] + " x " + USED[b]);
+            }
+        }
+    }
+
+    private static byte[] categories() {
+        byte[] categories = new byte[ASSETS];
+        for (int i = 0; i < ASSETS; i++) {
+            categories[i] = (byte) USED[i % USED.length].ordinal();
+        }
+        return categories;
+    }
+
+    private static int group(byte category) {
+        for (int g = 0; g < USED.length; g++) {
+            if (USED[g].ordinal() == category) return g;
+        }
+        throw new IllegalArgumentException("Unused category " + category);
+    }
+
+    // The application.yml defaults; the factor form needs every category to have one
+    private static Map<AssetCategory, Double> intra() {
+        Map<AssetCategory, Double> intra = new EnumMap<>(AssetCategory.class);
+        intra.put(AssetCategory.STOCK, 0.45);
+        intra.put(AssetCategory.MF_LARGE, 0.70);
+        intra.put(AssetCategory.MF_MID, 0.60);
+        intra.put(AssetCategory.MF_SMALL, 0.55);
+        intra.put(AssetCategory.GOLD_ETF, 0.85);
+        intra.put(AssetCategory.SILVER_ETF, 0.80);
+        return intra;
+    }
+
+    private static CorrelationConfig config(int denseLimit) {
+        CorrelationConfig config = new CorrelationConfig();
+        config.setCrossCategory(CROSS);
+        config.setIntraCategory(intra());
+        config.setDenseLimit(denseLimit);
+        return config;
+    }
+
+    private static double[] gaussians(SplittableRandom random, int count) {
+        double[] z = new double[count];
+        for (int i = 0; i < count; i++) {
+            z[i] = random.nextGaussian();
+        }
+        return z;
+    }
+}
@@ -0,0 +1,152 @@
+package com.hardik.marketsim.service;
+
+import com.hardik.marketsim.model.AssetCategory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UniverseLoaderTest {
+
+    private static final long[] IDS = {17, 3, 250_000};
+    private static final byte[] CATEGORIES = {
+            (byte) AssetCategory.MF_MID.ordinal(),
+            (byte) AssetCategory.STOCK.ordinal(),
+            (byte) AssetCategory.SILVER_ETF.ordinal()
+    };
+    private static final double[] PRICES = {541.80, 0.05, 1234567.125};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsCsvRows() throws IOException {
+        Path file = write("universe.csv", """
+                id,category,basePrice
+                # comment
+
+                17,MF_MID,541.80
+                3, STOCK , 0.05\r
+                250000,SILVER_ETF,1234567.125
+                """);
+
+        assertUniverse(UniverseLoader.load(file));
+    }
+
+    @Test
+    void readsCsvPricesInExponentForm() throws IOException {
+        Path file = write("universe.csv", "1,GOLD_ETF,5.418e2\n2,GOLD_ETF,12345678901234567\n");
+
+        UniverseLoader.Universe universe = UniverseLoader.load(file);
+
+        assertEquals(541.8, universe.prices()[0]);
+        assertEquals(12345678901234567d, universe.prices()[1]);
+    }
+
+    @Test
+    void readsBinaryColumns() throws IOException {
+        Path file = writeBinary(IDS, PRICES, CATEGORIES);
+
+        assertUniverse(UniverseLoader.load(file));
+    }
+
+    @Test
+    void csvAndBinaryAgree() throws IOException {
+        Path csv = write("universe.csv", "17,MF_MID,541.80\n3,STOCK,0.05\n250000,SILVER_ETF,1234567.125\n");
+
+        UniverseLoader.Universe fromCsv = UniverseLoader.load(csv);
+        UniverseLoader.Universe fromBinary = UniverseLoader.load(
+                writeBinary(fromCsv.ids(), fromCsv.prices(), fromCsv.categories()));
+
+        assertArrayEquals(fromCsv.ids(), fromBinary.ids());
+        assertArrayEquals(fromCsv.categories(), fromBinary.categories());
+        assertArrayEquals(fromCsv.prices(), fromBinary.prices());
+    }
+
+    @Test
+    void rejectsTrailingGarbageAfterCsvPrice() throws IOException {
+        assertBadCsv("1,STOCK,10.5x\n", ":1");
+        assertBadCsv("1,STOCK,10.5,extra\n", ":1");
+        assertBadCsv("1,STOCK,10.5\n2,STOCK,1e3e\n", ":2");
+    }
+
+    @Test
+    void rejectsCsvPricesThatAreNotFiniteAndPositive() throws IOException {
+        assertBadCsv("1,STOCK,0\n", "positive");
+        assertBadCsv("1,STOCK,-4.5\n", "positive");
+        assertBadCsv("1,STOCK,1e400\n", "positive");
+        assertBadCsv("1,STOCK,\n", "expected a price");
+    }
+
+    @Test
+    void rejectsCsvUnknownCategory() throws IOException {
+        assertBadCsv("1,BOND,10\n", "unknown category BOND");
+    }
+
+    @Test
+    void rejectsBinaryPricesThatAreNotFiniteAndPositive() throws IOException {
+        for (double bad : new double[]{0, -1, Double.NaN, Double.POSITIVE_INFINITY}) {
+            Path file = writeBinary(IDS, new double[]{PRICES[0], bad, PRICES[2]}, CATEGORIES);
+
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> UniverseLoader.load(file));
+            assertTrue(e.getMessage().contains("asset 3"), e.getMessage());
+        }
+    }
+
+    @Test
+    void rejectsTruncatedBinary() throws IOException {
+        Path file = writeBinary(IDS, PRICES, CATEGORIES);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IllegalStateException.class, () -> UniverseLoader.load(file));
+    }
+
+    @Test
+    void rejectsUnknownBinaryCategory() throws IOException {
+        Path file = writeBinary(IDS, PRICES, new byte[]{0, (byte) AssetCategory.values().length, 0});
+
+        assertThrows(IllegalStateException.class, () -> UniverseLoader.load(file));
+    }
+
+    private void assertUniverse(UniverseLoader.Universe universe) {
+        assertEquals(IDS.length, universe.size());
+        assertArrayEquals(IDS, universe.ids());
+        assertArrayEquals(CATEGORIES, universe.categories());
+        assertArrayEquals(PRICES, universe.prices());
+    }
+
+    private void assertBadCsv(String content, String expected) throws IOException {
+        Path file = write("bad.csv", content);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> UniverseLoader.load(file));
+        assertTrue(e.getMessage().contains(expected), e.getMessage());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Path writeBinary(long[] ids, double[] prices, byte[] categories) throws IOException {
+        int count = ids.length;
+        ByteBuffer buffer = ByteBuffer.allocate(UniverseLoader.HEADER_BYTES + 17 * count).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(UniverseLoader.MAGIC).putInt(count);
+        for (long id : ids) buffer.putLong(id);
+        for (double price : prices) buffer.putDouble(price);
+        buffer.put(categories);
+
+        return Files.write(dir.resolve("universe.unv"), buffer.array());
+    }
+}